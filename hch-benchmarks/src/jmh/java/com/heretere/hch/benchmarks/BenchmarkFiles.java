@@ -0,0 +1,48 @@
+package com.heretere.hch.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.io.AtomicFileWriter;
+import com.heretere.hch.core.backend.io.Durability;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+public final class BenchmarkFiles {
+    private BenchmarkFiles() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    public static @NotNull Path createFixture(
+            final @NotNull ConfigWriter writer,
+            final @NotNull Path fileLocation,
+            final @NotNull ConfigMap configMap
+    ) throws IOException {
+        final boolean written = AtomicFileWriter.write(fileLocation, Durability.NONE, output -> {
+            writer.write(output, configMap);
+            return true;
+        });
+
+        if (!written) {
+            throw new IllegalStateException(String.format("Couldn't write benchmark fixture '%s'.", fileLocation));
+        }
+
+        return fileLocation;
+    }
+
+    public static void deleteRecursively(final @NotNull Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder())
+                .forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.heretere.hch.benchmarks;
+
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.benchmarks.pojo.JsonShopConfig;
+import com.heretere.hch.benchmarks.pojo.ShopConfig;
+import com.heretere.hch.benchmarks.pojo.YamlShopConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.backend.config.ConfigAdapter;
+import com.heretere.hch.json.JsonParser;
+import com.heretere.hch.yaml.YamlParser;
+
+public enum ConfigFormat {
+    YAML("yml", YamlShopConfig.class) {
+        @Override
+        public @NotNull ConfigAdapter getParser() {
+            return YamlParser.shared();
+        }
+    },
+    JSON("json", JsonShopConfig.class) {
+        @Override
+        public @NotNull ConfigAdapter getParser() {
+            return JsonParser.shared();
+        }
+    };
+
+    private final @NotNull String extension;
+    private final @NotNull Class<? extends ShopConfig> shopConfigClass;
+
+    ConfigFormat(
+            final @NotNull String extension,
+            final @NotNull Class<? extends ShopConfig> shopConfigClass
+    ) {
+        this.extension = extension;
+        this.shopConfigClass = shopConfigClass;
+    }
+
+    public abstract @NotNull ConfigAdapter getParser();
+
+    public @NotNull MultiConfigHandler createHandler(final @NotNull Path basePath) {
+        return new MultiConfigHandler(basePath).registerFileExtensionHandler(this.getParser(), this.extension);
+    }
+
+    public @NotNull String getExtension() {
+        return this.extension;
+    }
+
+    public @NotNull Class<? extends ShopConfig> getShopConfigClass() {
+        return this.shopConfigClass;
+    }
+}
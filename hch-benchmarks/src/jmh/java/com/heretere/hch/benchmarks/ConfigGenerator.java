@@ -0,0 +1,108 @@
+package com.heretere.hch.benchmarks;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+public final class ConfigGenerator {
+    public static final int FIELDS_PER_SHOP_ITEM = 5;
+
+    private static final int VALUE_TYPES = 4;
+    private static final int LIST_INTERVAL = 7;
+    private static final int COMMENT_INTERVAL = 10;
+    private static final int MAX_STACK_SIZE = 64;
+
+    private ConfigGenerator() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    private static int getFanOut(final int keys, final int depth) {
+        return Math.max(2, (int) Math.ceil(Math.pow(keys, 1D / depth)));
+    }
+
+    private static @NotNull Object createValue(final int index) {
+        if (index % ConfigGenerator.LIST_INTERVAL == 0) {
+            return Arrays.asList("first-" + index, "second-" + index, "third-" + index);
+        }
+
+        switch (index % ConfigGenerator.VALUE_TYPES) {
+            case 0:
+                return "value-" + index;
+            case 1:
+                return index;
+            case 2:
+                return index % 2 == 0;
+            default:
+                return index / 2D;
+        }
+    }
+
+    private static @NotNull ConfigMap getOrCreateChild(final @NotNull ConfigMap parent, final @NotNull String key) {
+        return (ConfigMap) parent.computeIfAbsent(key, ignored -> new ConfigMap());
+    }
+
+    private static void attachComment(
+            final @NotNull ConfigMap section,
+            final @NotNull String key,
+            final int index
+    ) {
+        section.setComments(key, Collections.singletonList("Generated comment " + index));
+    }
+
+    public static @NotNull ConfigMap generate(final int keys, final int depth) {
+        final ConfigMap root = new ConfigMap();
+        final int fanOut = ConfigGenerator.getFanOut(keys, depth);
+
+        for (int index = 0; index < keys; index++) {
+            ConfigMap section = root;
+            int remaining = index;
+            int divisor = (int) Math.pow(fanOut, depth - 1);
+
+            for (int level = 0; level < depth - 1; level++) {
+                section = ConfigGenerator.getOrCreateChild(section, "section-" + remaining / divisor);
+                remaining %= divisor;
+                divisor /= fanOut;
+            }
+
+            final String key = "key-" + remaining;
+            section.put(key, ConfigGenerator.createValue(index));
+
+            if (index % ConfigGenerator.COMMENT_INTERVAL == 0) {
+                ConfigGenerator.attachComment(section, key, index);
+            }
+        }
+
+        return root;
+    }
+
+    public static @NotNull ConfigMap generateShop(final int keys) {
+        final ConfigMap root = new ConfigMap();
+        ConfigGenerator.attachComment(root, "shop", 0);
+
+        final ConfigMap items = ConfigGenerator.getOrCreateChild(
+            ConfigGenerator.getOrCreateChild(root, "shop"),
+            "items"
+        );
+        final int itemCount = Math.max(1, keys / ConfigGenerator.FIELDS_PER_SHOP_ITEM);
+
+        for (int index = 0; index < itemCount; index++) {
+            final ConfigMap item = new ConfigMap();
+            item.put("name", "Item " + index);
+            item.put("price", index * 1.5D);
+            item.put("amount", index % ConfigGenerator.MAX_STACK_SIZE + 1);
+            item.put("enabled", index % 2 == 0);
+            item.put("lore", Arrays.asList("Lore line one for " + index, "Lore line two for " + index));
+
+            if (index % ConfigGenerator.COMMENT_INTERVAL == 0) {
+                ConfigGenerator.attachComment(item, "name", index);
+            }
+
+            items.put("item-" + index, item);
+        }
+
+        return root;
+    }
+}
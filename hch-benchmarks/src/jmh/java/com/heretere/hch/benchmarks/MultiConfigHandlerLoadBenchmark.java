@@ -0,0 +1,67 @@
+package com.heretere.hch.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.heretere.hch.benchmarks.pojo.ShopConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.backend.config.ConfigWriter;
+
+@State(Scope.Benchmark)
+public class MultiConfigHandlerLoadBenchmark {
+    @Param({"YAML", "JSON"})
+    private ConfigFormat format;
+
+    @Param({"10", "1000", "100000"})
+    private int keys;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("hch-load-benchmark");
+
+        BenchmarkFiles.createFixture(
+            (ConfigWriter) this.format.getParser(),
+            this.directory.resolve(this.format.getShopConfigClass()
+                .getAnnotation(ConfigFile.class)
+                .value()),
+            ConfigGenerator.generateShop(this.keys)
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(this.directory);
+    }
+
+    @Benchmark
+    public @NotNull Optional<? extends ShopConfig> loadPOJOClass(final @NotNull HandlerState state) {
+        return state.handler.loadPOJOClass(this.format.getShopConfigClass());
+    }
+
+    @State(Scope.Thread)
+    public static class HandlerState {
+        private MultiConfigHandler handler;
+
+        /*
+         * A handler only accepts one POJO per path, so each invocation loads into a fresh handler.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(final @NotNull MultiConfigHandlerLoadBenchmark benchmark) {
+            this.handler = benchmark.format.createHandler(benchmark.directory);
+        }
+    }
+}
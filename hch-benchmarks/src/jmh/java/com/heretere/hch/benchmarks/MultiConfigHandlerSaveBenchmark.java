@@ -0,0 +1,115 @@
+package com.heretere.hch.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.heretere.hch.benchmarks.pojo.ShopConfig;
+import com.heretere.hch.benchmarks.pojo.ShopItem;
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.io.Durability;
+
+@State(Scope.Benchmark)
+public class MultiConfigHandlerSaveBenchmark {
+    private static final int CONFIG_FILES = 8;
+
+    @Param({"YAML", "JSON"})
+    private ConfigFormat format;
+
+    @Param({"10", "1000", "100000"})
+    private int keys;
+
+    @Param({"NONE", "SYNC_FILE"})
+    private Durability durability;
+
+    @Param({"false", "true"})
+    private boolean trackFileChanges;
+
+    private Path directory;
+    private MultiConfigHandler handler;
+    private HCHConfig config;
+    private HCHConfig modifiedConfig;
+    private ShopConfig modifiedShop;
+    private ShopItem modifiedItem;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("hch-save-benchmark");
+        this.handler = this.format.createHandler(this.directory)
+            .setDurability(this.durability)
+            .setTrackFileChanges(this.trackFileChanges);
+
+        final ConfigWriter writer = (ConfigWriter) this.format.getParser();
+
+        for (int index = 0; index < MultiConfigHandlerSaveBenchmark.CONFIG_FILES; index++) {
+            final String relativePath = "shop-" + index + "." + this.format.getExtension();
+
+            BenchmarkFiles.createFixture(
+                writer,
+                this.directory.resolve(relativePath),
+                ConfigGenerator.generateShop(this.keys)
+            );
+
+            final ShopConfig shop = this.handler.loadPOJOClassAtPath(relativePath, "shop", ShopConfig.class)
+                .orElseThrow(() -> new IllegalStateException(
+                        "Couldn't load benchmark fixture: " + this.handler.getErrors()
+                ));
+
+            this.modifiedShop = shop;
+            this.modifiedItem = shop.getItems().values().iterator().next();
+        }
+
+        this.config = this.getConfig(0);
+        this.modifiedConfig = this.getConfig(MultiConfigHandlerSaveBenchmark.CONFIG_FILES - 1);
+    }
+
+    private @NotNull HCHConfig getConfig(final int index) {
+        return this.handler.getConfigByRelativePath("shop-" + index + "." + this.format.getExtension())
+            .orElseThrow(() -> new IllegalStateException("Benchmark fixture wasn't registered."));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(this.directory);
+    }
+
+    @Benchmark
+    public boolean saveConfig() {
+        return this.handler.saveConfig(this.config, true);
+    }
+
+    /*
+     * Unchanged configs are skipped once their fingerprint matches, this measures a save that has to hit the disk.
+     */
+    @Benchmark
+    public boolean saveModifiedConfig() {
+        this.modifiedItem.setAmount(this.modifiedItem.getAmount() + 1);
+        return this.handler.saveConfig(this.modifiedConfig, true);
+    }
+
+    /*
+     * Only the POJO flagged through markModified is serialized, the other configs are skipped on their dirty flags.
+     */
+    @Benchmark
+    public boolean saveAllMarkedConfigs() {
+        this.modifiedItem.setAmount(this.modifiedItem.getAmount() + 1);
+        this.handler.markModified(this.modifiedShop);
+        return this.handler.saveAllConfigs(false);
+    }
+
+    @Benchmark
+    public boolean saveAllConfigs() {
+        return this.handler.saveAllConfigs(true);
+    }
+}
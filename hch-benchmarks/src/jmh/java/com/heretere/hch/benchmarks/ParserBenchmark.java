@@ -0,0 +1,95 @@
+package com.heretere.hch.benchmarks;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.heretere.hch.core.backend.config.ConfigAdapter;
+import com.heretere.hch.core.backend.config.ConfigReader;
+import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.io.AtomicFileWriter;
+import com.heretere.hch.core.backend.io.Durability;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({"YAML", "JSON"})
+    private ConfigFormat format;
+
+    @Param({"10", "1000", "100000"})
+    private int keys;
+
+    @Param({"1", "5", "10"})
+    private int depth;
+
+    private Path directory;
+    private Path source;
+    private Path target;
+    private ConfigReader reader;
+    private ConfigWriter writer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("hch-parser-benchmark");
+
+        final ConfigAdapter parser = this.format.getParser();
+        this.reader = (ConfigReader) parser;
+        this.writer = (ConfigWriter) parser;
+
+        this.source = BenchmarkFiles.createFixture(
+            this.writer,
+            this.directory.resolve("source." + this.format.getExtension()),
+            ConfigGenerator.generate(this.keys, this.depth)
+        );
+
+        this.target = this.directory.resolve("target." + this.format.getExtension());
+
+        /* fail the trial early if the fixture doesn't round trip */
+        this.read();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.deleteRecursively(this.directory);
+    }
+
+    @Benchmark
+    public @NotNull ConfigMap read() throws IOException {
+        try (Reader input = Files.newBufferedReader(this.source, StandardCharsets.UTF_8)) {
+            return this.reader.read(input);
+        }
+    }
+
+    @Benchmark
+    public boolean write(final @NotNull WriteState state) throws IOException {
+        return AtomicFileWriter.write(
+            this.target,
+            Durability.NONE,
+            output -> {
+                this.writer.write(output, state.configMap);
+                return true;
+            }
+        );
+    }
+
+    @State(Scope.Thread)
+    public static class WriteState {
+        private ConfigMap configMap;
+
+        @Setup(Level.Trial)
+        public void setUp(final @NotNull ParserBenchmark benchmark) {
+            this.configMap = ConfigGenerator.generate(benchmark.keys, benchmark.depth);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.heretere.hch.benchmarks.pojo;
+
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.annotation.POJOKey;
+
+@ConfigFile("shop.json")
+@POJOKey("shop")
+public class JsonShopConfig extends ShopConfig {
+}
@@ -0,0 +1,14 @@
+package com.heretere.hch.benchmarks.pojo;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.NotNull;
+
+public class ShopConfig {
+    private @NotNull Map<@NotNull String, @NotNull ShopItem> items = new TreeMap<>();
+
+    public @NotNull Map<@NotNull String, @NotNull ShopItem> getItems() {
+        return this.items;
+    }
+}
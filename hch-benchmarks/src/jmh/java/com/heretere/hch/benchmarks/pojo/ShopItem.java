@@ -0,0 +1,38 @@
+package com.heretere.hch.benchmarks.pojo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+public class ShopItem {
+    private @NotNull String name = "";
+    private double price;
+    private int amount;
+    private boolean enabled;
+    private @NotNull List<@NotNull String> lore = new ArrayList<>();
+
+    public @NotNull String getName() {
+        return this.name;
+    }
+
+    public double getPrice() {
+        return this.price;
+    }
+
+    public int getAmount() {
+        return this.amount;
+    }
+
+    public void setAmount(final int amount) {
+        this.amount = amount;
+    }
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public @NotNull List<@NotNull String> getLore() {
+        return this.lore;
+    }
+}
@@ -0,0 +1,127 @@
+package com.heretere.hch.json;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.heretere.hch.core.backend.comments.CommentCapturingReader;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Builds a ConfigMap straight from Gson's lenient token stream. The capturing reader hands the parser one line at a
+ * time, so every comment it has seen when a name is read belongs to that name.
+ */
+public final class JsonDocumentReader {
+    private static final String COMMENT_PREFIX = "//";
+
+    public @NotNull ConfigMap read(final @NotNull Reader input) throws IOException {
+        final CommentCapturingReader comments = new CommentCapturingReader(
+            input,
+            JsonDocumentReader.COMMENT_PREFIX,
+            true
+        );
+
+        final JsonReader reader = new JsonReader(comments);
+        reader.setLenient(true);
+
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            throw new JsonParseException("The root of a config file has to be an object, found " + reader.peek());
+        }
+
+        final ConfigMap root = JsonDocumentReader.readObject(reader, comments);
+
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonParseException("Expected a single object but found " + reader.peek());
+        }
+
+        return root;
+    }
+
+    private static @Nullable Object readValue(
+            final @NotNull JsonReader reader,
+            final @NotNull CommentCapturingReader comments
+    ) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                return JsonDocumentReader.readObject(reader, comments);
+            case BEGIN_ARRAY:
+                return JsonDocumentReader.readArray(reader, comments);
+            case NUMBER:
+                return JsonDocumentReader.parseNumber(reader.nextString());
+            case BOOLEAN:
+                return reader.nextBoolean();
+            case NULL:
+                reader.nextNull();
+                return null;
+            case STRING:
+                return reader.nextString();
+            default:
+                throw new JsonParseException("Unexpected " + reader.peek() + " at " + reader.getPath());
+        }
+    }
+
+    private static @NotNull ConfigMap readObject(
+            final @NotNull JsonReader reader,
+            final @NotNull CommentCapturingReader comments
+    ) throws IOException {
+        final ConfigMap map = new ConfigMap();
+
+        reader.beginObject();
+
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+            final List<String> nameComments = comments.pollComments();
+
+            map.put(name, JsonDocumentReader.readValue(reader, comments));
+            map.setComments(name, nameComments);
+        }
+
+        reader.endObject();
+
+        return map;
+    }
+
+    private static @NotNull List<@Nullable Object> readArray(
+            final @NotNull JsonReader reader,
+            final @NotNull CommentCapturingReader comments
+    ) throws IOException {
+        final List<Object> list = new ArrayList<>();
+
+        reader.beginArray();
+
+        while (reader.hasNext()) {
+            list.add(JsonDocumentReader.readValue(reader, comments));
+        }
+
+        reader.endArray();
+
+        return list;
+    }
+
+    /*
+     * Whole numbers keep an integral type so they are written back the way they were read.
+     */
+    private static @NotNull Number parseNumber(final @NotNull String value) {
+        if (value.indexOf('.') == -1 && value.indexOf('e') == -1 && value.indexOf('E') == -1) {
+            try {
+                final long number = Long.parseLong(value);
+
+                if (number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE) {
+                    return (int) number;
+                }
+
+                return number;
+            } catch (NumberFormatException ignored) {
+                /* Too large for a long, fall through to a double like Gson would. */
+            }
+        }
+
+        return Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,185 @@
+package com.heretere.hch.json;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.backend.util.ConfigMapperUtils;
+import com.heretere.hch.core.exception.ConfigFormatException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Pretty prints a ConfigMap straight to a writer in the same layout Gson uses, with the node comments written as
+ * "//" lines above their names.
+ */
+public final class JsonDocumentWriter {
+    private static final String COMMENT_PREFIX = "//";
+    private static final int INDENT = 2;
+
+    private final @NotNull String lineSeparator;
+
+    public JsonDocumentWriter() {
+        this.lineSeparator = System.lineSeparator();
+    }
+
+    public void write(final @NotNull Writer output, final @NotNull ConfigMap configMap) throws IOException {
+        this.writeObject(output, configMap, 0);
+        output.write(this.lineSeparator);
+        output.flush();
+    }
+
+    private void writeValue(
+            final @NotNull Writer output,
+            final @Nullable Object value,
+            final int indent
+    ) throws IOException {
+        if (value == null) {
+            output.write("null");
+        } else if (value instanceof Map) {
+            this.writeObject(output, (Map<?, ?>) value, indent);
+        } else if (value instanceof Collection) {
+            this.writeArray(output, (Collection<?>) value, indent);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            output.write(value.toString());
+        } else if (value instanceof byte[]) {
+            /* Same as Gson, which binds the numbers back to a byte[] field. */
+            final byte[] bytes = (byte[]) value;
+            final List<Byte> list = new ArrayList<>(bytes.length);
+
+            for (final byte element : bytes) {
+                list.add(element);
+            }
+
+            this.writeArray(output, list, indent);
+        } else if (value instanceof Date) {
+            JsonDocumentWriter.writeString(output, ConfigMapperUtils.formatTimestamp((Date) value));
+        } else if (value instanceof Enum) {
+            JsonDocumentWriter.writeString(output, ((Enum<?>) value).name());
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            JsonDocumentWriter.writeString(output, value.toString());
+        } else {
+            throw new ConfigFormatException(
+                    String.format("Can't write a value of type '%s' to JSON.", value.getClass().getName())
+            );
+        }
+    }
+
+    private void writeObject(
+            final @NotNull Writer output,
+            final @NotNull Map<?, ?> map,
+            final int indent
+    ) throws IOException {
+        if (map.isEmpty()) {
+            output.write("{}");
+            return;
+        }
+
+        output.write('{');
+
+        final Iterator<? extends Map.Entry<?, ?>> iterator = map.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<?, ?> entry = iterator.next();
+            final String key = entry.getKey().toString();
+
+            output.write(this.lineSeparator);
+
+            if (map instanceof ConfigMap) {
+                for (final String comment : ((ConfigMap) map).getComments(key)) {
+                    JsonDocumentWriter.writeIndent(output, indent + JsonDocumentWriter.INDENT);
+                    output.write(ConfigMapperUtils.formatComment(comment, JsonDocumentWriter.COMMENT_PREFIX));
+                    output.write(this.lineSeparator);
+                }
+            }
+
+            JsonDocumentWriter.writeIndent(output, indent + JsonDocumentWriter.INDENT);
+            JsonDocumentWriter.writeString(output, key);
+            output.write(": ");
+            this.writeValue(output, entry.getValue(), indent + JsonDocumentWriter.INDENT);
+
+            if (iterator.hasNext()) {
+                output.write(',');
+            }
+        }
+
+        output.write(this.lineSeparator);
+        JsonDocumentWriter.writeIndent(output, indent);
+        output.write('}');
+    }
+
+    private void writeArray(
+            final @NotNull Writer output,
+            final @NotNull Collection<?> collection,
+            final int indent
+    ) throws IOException {
+        if (collection.isEmpty()) {
+            output.write("[]");
+            return;
+        }
+
+        output.write('[');
+
+        final Iterator<?> iterator = collection.iterator();
+
+        while (iterator.hasNext()) {
+            output.write(this.lineSeparator);
+            JsonDocumentWriter.writeIndent(output, indent + JsonDocumentWriter.INDENT);
+            this.writeValue(output, iterator.next(), indent + JsonDocumentWriter.INDENT);
+
+            if (iterator.hasNext()) {
+                output.write(',');
+            }
+        }
+
+        output.write(this.lineSeparator);
+        JsonDocumentWriter.writeIndent(output, indent);
+        output.write(']');
+    }
+
+    private static void writeIndent(final @NotNull Writer output, final int indent) throws IOException {
+        for (int i = 0; i < indent; i++) {
+            output.write(' ');
+        }
+    }
+
+    private static void writeString(final @NotNull Writer output, final @NotNull String value) throws IOException {
+        output.write('"');
+
+        int last = 0;
+
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+            final String replacement;
+
+            if (character == '"') {
+                replacement = "\\\"";
+            } else if (character == '\\') {
+                replacement = "\\\\";
+            } else if (character == '\n') {
+                replacement = "\\n";
+            } else if (character == '\r') {
+                replacement = "\\r";
+            } else if (character == '\t') {
+                replacement = "\\t";
+            } else if (character < ' ' || character == 0x2028 || character == 0x2029) {
+                replacement = String.format("\\u%04x", (int) character);
+            } else {
+                continue;
+            }
+
+            output.write(value, last, i - last);
+            output.write(replacement);
+            last = i + 1;
+        }
+
+        output.write(value, last, value.length() - last);
+        output.write('"');
+    }
+}
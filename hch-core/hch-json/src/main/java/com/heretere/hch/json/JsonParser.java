@@ -1,88 +1,72 @@
 package com.heretere.hch.json;
 
-import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.MalformedJsonException;
 import com.heretere.hch.core.MultiConfigHandler;
-import com.heretere.hch.core.backend.config.ConfigReader;
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
 import com.heretere.hch.core.backend.config.ConfigWriter;
 import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.ConfigFormatException;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 
-public class JsonParser implements ConfigReader, ConfigWriter {
-    private final @NotNull MultiConfigHandler parent;
-    private final @NotNull Set<@NotNull Throwable> errors;
+public class JsonParser implements IndexingConfigReader, ConfigWriter {
+    private static final @NotNull JsonParser SHARED = new JsonParser();
 
-    private final @NotNull JsonCommentParser commentParser;
+    private final @NotNull JsonDocumentReader documentReader;
+    private final @NotNull JsonDocumentWriter documentWriter;
 
-    public JsonParser(final @NotNull MultiConfigHandler parent) {
-        this.parent = parent;
-        this.errors = new HashSet<>();
-        this.commentParser = new JsonCommentParser(parent);
+    public JsonParser() {
+        this.documentReader = new JsonDocumentReader();
+        this.documentWriter = new JsonDocumentWriter();
     }
 
-    @Override
-    public @NotNull Optional<@NotNull ConfigMap> read(final @NotNull Path fileLocation) {
-        if (fileLocation.toFile().length() == 0) {
-            return Optional.of(new ConfigMap());
-        }
+    /* Kept so existing callers still compile. */
+    @Deprecated
+    public JsonParser(final @NotNull MultiConfigHandler parent) {
+        this();
+    }
 
-        if (this.errors.isEmpty()) {
-            final Optional<String> json = this.commentParser.readCommentsFromFile(fileLocation);
+    public static @NotNull JsonParser shared() {
+        return JsonParser.SHARED;
+    }
 
-            if (json.isPresent() && this.commentParser.getErrors().isEmpty()) {
-                try {
-                    return Optional.of(
-                        this.parent
-                            .getGsonBackend()
-                            .fromJson(json.get(), new TypeToken<ConfigMap>() {}.getType())
-                    );
-                } catch (Exception e) {
-                    this.errors.add(e);
-                }
-            } else {
-                this.errors.addAll(this.commentParser.getErrors());
-            }
+    @Override
+    public @NotNull ConfigMap read(final @NotNull Reader input) throws IOException {
+        try {
+            return this.documentReader.read(input);
+        } catch (MalformedJsonException | RuntimeException e) {
+            throw new ConfigFormatException("Couldn't parse JSON document.", e);
         }
-        return Optional.empty();
     }
 
     @Override
-    public boolean write(
-            final @NotNull Path fileLocation,
-            final @NotNull ConfigMap configMap
+    public boolean indexSections(
+            final @NotNull ByteBuffer content,
+            final @NotNull IndexingConfigReader.SectionConsumer consumer
     ) {
-        if (this.errors.isEmpty()) {
-            final Optional<String> json = this.commentParser.writeCommentsToString(configMap);
-
-            if (json.isPresent() && this.commentParser.getErrors().isEmpty()) {
-                try {
-                    Files.write(
-                        fileLocation,
-                        json.get().getBytes(StandardCharsets.UTF_8),
-                        StandardOpenOption.TRUNCATE_EXISTING
-                    );
-                } catch (Exception e) {
-                    this.errors.add(e);
-                }
-            } else {
-                this.errors.addAll(this.commentParser.getErrors());
-            }
-        }
+        return JsonSectionScanner.scan(content, consumer);
+    }
 
-        return this.errors.isEmpty();
+    @Override
+    public @NotNull ConfigMap readSection(final @NotNull String section) throws IOException {
+        return this.read(new StringReader("{" + section + "\n}"));
     }
 
     @Override
-    public @NotNull Set<@NotNull Throwable> getErrors() {
-        return Collections.unmodifiableSet(this.errors);
+    public void write(
+            final @NotNull Writer output,
+            final @NotNull ConfigMap configMap
+    ) throws IOException {
+        try {
+            this.documentWriter.write(output, configMap);
+        } catch (RuntimeException e) {
+            throw new ConfigFormatException("Couldn't write JSON document.", e);
+        }
     }
 
     @Override
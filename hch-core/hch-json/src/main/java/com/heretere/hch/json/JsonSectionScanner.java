@@ -0,0 +1,184 @@
+package com.heretere.hch.json;
+
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/* Gives up on lenient syntax it doesn't follow, like unquoted keys, so the file is parsed whole. */
+final class JsonSectionScanner {
+    private static final int INVALID = -1;
+
+    private JsonSectionScanner() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    static boolean scan(
+            final @NotNull ByteBuffer content,
+            final @NotNull IndexingConfigReader.SectionConsumer consumer
+    ) {
+        final int limit = content.limit();
+        int index = JsonSectionScanner.skipIgnorable(content, content.position(), limit);
+
+        if (index == JsonSectionScanner.INVALID || index >= limit || content.get(index) != '{') {
+            return false;
+        }
+
+        int depth = 1;
+        int memberStart = ++index;
+        String key = null;
+        boolean expectKey = true;
+
+        while (index < limit) {
+            final byte character = content.get(index);
+
+            if (character == '"') {
+                final int end = JsonSectionScanner.skipString(content, index, limit);
+
+                if (end == JsonSectionScanner.INVALID) {
+                    return false;
+                }
+
+                if (depth == 1 && expectKey) {
+                    key = JsonSectionScanner.readKey(content, index + 1, end - 1);
+
+                    if (key == null) {
+                        return false;
+                    }
+
+                    expectKey = false;
+                }
+
+                index = end;
+                continue;
+            }
+
+            if (character == '/' || character == '#') {
+                index = JsonSectionScanner.skipComment(content, index, limit);
+
+                if (index == JsonSectionScanner.INVALID) {
+                    return false;
+                }
+
+                continue;
+            }
+
+            if (character == '{' || character == '[') {
+                depth++;
+            } else if (character == '}' || character == ']') {
+                depth--;
+
+                if (depth == 0) {
+                    if (key != null) {
+                        consumer.accept(key, memberStart, index);
+                    }
+
+                    return JsonSectionScanner.skipIgnorable(content, index + 1, limit) == limit;
+                }
+            } else if (character == ',' && depth == 1) {
+                if (key == null) {
+                    return false;
+                }
+
+                consumer.accept(key, memberStart, index);
+                key = null;
+                expectKey = true;
+                memberStart = index + 1;
+            } else if (depth == 1 && expectKey && !JsonSectionScanner.isWhitespace(character)) {
+                return false;
+            }
+
+            index++;
+        }
+
+        return false;
+    }
+
+    private static boolean isWhitespace(final byte character) {
+        return character == ' ' || character == '\t' || character == '\r' || character == '\n';
+    }
+
+    private static int skipIgnorable(final @NotNull ByteBuffer content, final int start, final int limit) {
+        int index = start;
+
+        while (index < limit) {
+            final byte character = content.get(index);
+
+            if (JsonSectionScanner.isWhitespace(character)) {
+                index++;
+            } else if (character == '/' || character == '#') {
+                index = JsonSectionScanner.skipComment(content, index, limit);
+
+                if (index == JsonSectionScanner.INVALID) {
+                    return JsonSectionScanner.INVALID;
+                }
+            } else {
+                break;
+            }
+        }
+
+        return index;
+    }
+
+    private static int skipString(final @NotNull ByteBuffer content, final int start, final int limit) {
+        int index = start + 1;
+
+        while (index < limit) {
+            final byte character = content.get(index);
+
+            if (character == '\\') {
+                index += 2;
+            } else if (character == '"') {
+                return index + 1;
+            } else {
+                index++;
+            }
+        }
+
+        return JsonSectionScanner.INVALID;
+    }
+
+    private static int skipComment(final @NotNull ByteBuffer content, final int start, final int limit) {
+        final boolean lineComment = content.get(start) == '#'
+            || (start + 1 < limit && content.get(start + 1) == '/');
+
+        if (lineComment) {
+            int index = start;
+
+            while (index < limit && content.get(index) != '\n') {
+                index++;
+            }
+
+            return index;
+        }
+
+        if (start + 1 < limit && content.get(start + 1) == '*') {
+            for (int index = start + 2; index + 1 < limit; index++) {
+                if (content.get(index) == '*' && content.get(index + 1) == '/') {
+                    return index + 2;
+                }
+            }
+        }
+
+        return JsonSectionScanner.INVALID;
+    }
+
+    private static @Nullable String readKey(final @NotNull ByteBuffer content, final int start, final int end) {
+        final byte[] bytes = new byte[end - start];
+
+        for (int offset = 0; offset < bytes.length; offset++) {
+            bytes[offset] = content.get(start + offset);
+
+            if (bytes[offset] == '\\') {
+                return null;
+            }
+        }
+
+        final String key = new String(bytes, StandardCharsets.UTF_8);
+
+        return key.isEmpty() || key.indexOf(ConfigMap.PATH_SEPARATOR) != -1 ? null : key;
+    }
+}
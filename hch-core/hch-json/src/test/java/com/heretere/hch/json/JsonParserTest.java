@@ -0,0 +1,107 @@
+package com.heretere.hch.json;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.ConfigFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonParserTest {
+    private static final String DOCUMENT = "{\n"
+        + "  // the shop\n"
+        + "  \"shop\": {\n"
+        + "    // shown in the menu\n"
+        + "    \"title\": \"Shop\",\n"
+        + "    \"open\": true,\n"
+        + "    \"price\": 2.5,\n"
+        + "    \"stock\": 12,\n"
+        + "    \"total\": 5000000000,\n"
+        + "    \"items\": [\"axe\", \"sword\"],\n"
+        + "    \"1.16\": \"nether\"\n"
+        + "  },\n"
+        + "  \"missing\": null\n"
+        + "}\n";
+
+    private static ConfigMap read(final String document) throws IOException {
+        return JsonParser.shared().read(new StringReader(document));
+    }
+
+    private static String write(final ConfigMap map) throws IOException {
+        final StringWriter output = new StringWriter();
+        JsonParser.shared().write(output, map);
+
+        return output.toString();
+    }
+
+    @Test
+    void readsNestedObjectsArraysAndScalarTypes() throws IOException {
+        final ConfigMap map = JsonParserTest.read(JsonParserTest.DOCUMENT);
+
+        assertEquals("Shop", map.getPath("shop.title"));
+        assertEquals(true, map.getPath("shop.open"));
+        assertEquals(2.5, map.getPath("shop.price"));
+        assertEquals(12, map.getPath("shop.stock"));
+        assertEquals(5000000000L, map.getPath("shop.total"));
+        assertEquals(Arrays.asList("axe", "sword"), map.getPath("shop.items"));
+        assertEquals("nether", map.getPath("shop.1.16"));
+        assertTrue(map.containsKey("missing"));
+        assertNull(map.get("missing"));
+    }
+
+    @Test
+    void attachesCommentsToTheNameBelowThem() throws IOException {
+        final ConfigMap map = JsonParserTest.read(JsonParserTest.DOCUMENT);
+
+        assertEquals(Collections.singletonList("// the shop"), map.getComments("shop"));
+        assertEquals(Collections.singletonList("// shown in the menu"), map.getPathComments("shop.title"));
+    }
+
+    @Test
+    void writtenDocumentsReadBackTheSame() throws IOException {
+        final ConfigMap map = JsonParserTest.read(JsonParserTest.DOCUMENT);
+        final String written = JsonParserTest.write(map);
+        final ConfigMap reread = JsonParserTest.read(written);
+
+        assertEquals(map, reread);
+        assertEquals(map.getComments("shop"), reread.getComments("shop"));
+        assertEquals(map.getPathComments("shop.title"), reread.getPathComments("shop.title"));
+        assertEquals(written, JsonParserTest.write(reread));
+    }
+
+    @Test
+    void datesAndBinaryValuesAreWrittenLikeGson() throws IOException {
+        final ConfigMap map = new ConfigMap();
+        map.put("when", new Date(946684800000L));
+        map.put("data", new byte[] {1, -2});
+
+        final ConfigMap reread = JsonParserTest.read(JsonParserTest.write(map));
+
+        assertEquals("2000-01-01T00:00:00Z", reread.get("when"));
+        assertEquals(Arrays.asList(1, -2), reread.get("data"));
+    }
+
+    @Test
+    void unsupportedValuesAreRejected() {
+        final ConfigMap map = new ConfigMap();
+        map.put("value", new Object());
+
+        assertThrows(ConfigFormatException.class, () -> JsonParserTest.write(map));
+    }
+
+    @Test
+    void malformedDocumentsAreReportedAsIOExceptions() {
+        assertThrows(IOException.class, () -> JsonParserTest.read("{\"shop\": [\"axe\", \"sword\"\n"));
+        assertThrows(IOException.class, () -> JsonParserTest.read("[1, 2]"));
+        assertThrows(IOException.class, () -> JsonParserTest.read("{} {}"));
+    }
+}
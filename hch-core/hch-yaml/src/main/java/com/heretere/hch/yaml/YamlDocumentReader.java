@@ -0,0 +1,250 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.backend.comments.CommentCapturingReader;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.parser.Parser;
+import org.yaml.snakeyaml.parser.ParserImpl;
+import org.yaml.snakeyaml.reader.StreamReader;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Builds a ConfigMap straight from the SnakeYAML event stream. Comment lines are captured while the parser pulls
+ * characters and attached to the first key that starts below them.
+ */
+public final class YamlDocumentReader {
+    private static final String COMMENT_PREFIX = "#";
+
+    private final @NotNull Resolver resolver;
+
+    public YamlDocumentReader() {
+        this.resolver = new Resolver();
+    }
+
+    public @NotNull ConfigMap read(final @NotNull Reader input) {
+        return new Session(new CommentCapturingReader(input, YamlDocumentReader.COMMENT_PREFIX, false)).read();
+    }
+
+    private final class Session {
+        private final @NotNull CommentCapturingReader reader;
+        private final @NotNull Parser parser;
+        private final @NotNull ScalarConstructor constructor;
+        private final @NotNull Map<@NotNull String, @Nullable Object> anchors;
+
+        private Session(final @NotNull CommentCapturingReader reader) {
+            this.reader = reader;
+            this.parser = new ParserImpl(new StreamReader(reader));
+            this.constructor = new ScalarConstructor();
+            this.anchors = new HashMap<>();
+        }
+
+        private @NotNull ConfigMap read() {
+            this.expect(Event.ID.StreamStart);
+
+            if (this.parser.checkEvent(Event.ID.StreamEnd)) {
+                return new ConfigMap();
+            }
+
+            this.expect(Event.ID.DocumentStart);
+
+            final Event rootEvent = this.parser.getEvent();
+
+            if (!rootEvent.is(Event.ID.MappingStart)) {
+                throw new YAMLException("The root of a config file has to be a mapping, found " + rootEvent);
+            }
+
+            final ConfigMap root = this.readMapping(rootEvent);
+
+            this.expect(Event.ID.DocumentEnd);
+
+            if (!this.parser.checkEvent(Event.ID.StreamEnd)) {
+                throw new YAMLException("Expected a single document in " + this.parser.peekEvent().getStartMark());
+            }
+
+            return root;
+        }
+
+        private void expect(final @NotNull Event.ID id) {
+            final Event event = this.parser.getEvent();
+
+            if (!event.is(id)) {
+                throw new YAMLException("Expected " + id + " but found " + event);
+            }
+        }
+
+        private @Nullable Object readNode(final @NotNull Event event) {
+            if (event.is(Event.ID.Alias)) {
+                final String anchor = ((AliasEvent) event).getAnchor();
+
+                if (!this.anchors.containsKey(anchor)) {
+                    throw new YAMLException("Found undefined alias '" + anchor + "' " + event.getStartMark());
+                }
+
+                return YamlDocumentReader.copyValue(this.anchors.get(anchor));
+            }
+
+            final Object value;
+
+            if (event.is(Event.ID.Scalar)) {
+                this.discardScalarComments(event);
+                value = this.readScalar((ScalarEvent) event);
+            } else if (event.is(Event.ID.MappingStart)) {
+                value = this.readMapping(event);
+            } else if (event.is(Event.ID.SequenceStart)) {
+                value = this.readSequence();
+            } else {
+                throw new YAMLException("Unexpected event " + event);
+            }
+
+            final String anchor = ((NodeEvent) event).getAnchor();
+
+            if (anchor != null) {
+                this.anchors.put(anchor, value);
+            }
+
+            return value;
+        }
+
+        private @Nullable Object readScalar(final @NotNull ScalarEvent event) {
+            final Tag tag;
+
+            if (event.getTag() == null || "!".equals(event.getTag())) {
+                tag = YamlDocumentReader.this.resolver.resolve(
+                    NodeId.scalar,
+                    event.getValue(),
+                    event.getImplicit().canOmitTagInPlainScalar()
+                );
+            } else {
+                tag = new Tag(event.getTag());
+            }
+
+            /* Timestamps stay strings, config values are never bound to java.util.Date. */
+            if (Tag.TIMESTAMP.equals(tag)) {
+                return event.getValue();
+            }
+
+            return this.constructor.construct(
+                new ScalarNode(
+                        tag,
+                        event.getValue(),
+                        event.getStartMark(),
+                        event.getEndMark(),
+                        event.getScalarStyle()
+                )
+            );
+        }
+
+        private @NotNull ConfigMap readMapping(final @NotNull Event startEvent) {
+            final ConfigMap map = new ConfigMap();
+            final List<Object> merges = new ArrayList<>();
+
+            while (!this.parser.checkEvent(Event.ID.MappingEnd)) {
+                final Event keyEvent = this.parser.getEvent();
+                this.discardScalarComments(keyEvent);
+                final List<String> comments = this.reader.pollCommentsBefore(keyEvent.getStartMark().getLine());
+
+                if (keyEvent.is(Event.ID.Scalar) && this.isMergeKey((ScalarEvent) keyEvent)) {
+                    merges.add(this.readNode(this.parser.getEvent()));
+                    continue;
+                }
+
+                final Object key = keyEvent.is(Event.ID.Scalar)
+                    ? ((ScalarEvent) keyEvent).getValue()
+                    : this.readNode(keyEvent);
+                final String name = String.valueOf(key);
+
+                map.put(name, this.readNode(this.parser.getEvent()));
+                map.setComments(name, comments);
+            }
+
+            this.parser.getEvent();
+
+            merges.forEach(merge -> YamlDocumentReader.merge(map, merge, startEvent));
+
+            return map;
+        }
+
+        private @NotNull List<@Nullable Object> readSequence() {
+            final List<Object> list = new ArrayList<>();
+
+            while (!this.parser.checkEvent(Event.ID.SequenceEnd)) {
+                list.add(this.readNode(this.parser.getEvent()));
+            }
+
+            this.parser.getEvent();
+
+            return list;
+        }
+
+        private void discardScalarComments(final @NotNull Event event) {
+            if (!event.is(Event.ID.Scalar)) {
+                return;
+            }
+
+            /* Block scalars end at the start of the line after them, quoted ones on their last line. */
+            final int endLine = event.getEndMark().getColumn() == 0
+                ? event.getEndMark().getLine()
+                : event.getEndMark().getLine() + 1;
+
+            this.reader.discardCommentsBetween(event.getStartMark().getLine(), endLine);
+        }
+
+        private boolean isMergeKey(final @NotNull ScalarEvent event) {
+            return event.getTag() == null
+                && event.getImplicit().canOmitTagInPlainScalar()
+                && Tag.MERGE.equals(
+                    YamlDocumentReader.this.resolver.resolve(NodeId.scalar, event.getValue(), true)
+                );
+        }
+    }
+
+    private static void merge(
+            final @NotNull ConfigMap map,
+            final @Nullable Object merge,
+            final @NotNull Event startEvent
+    ) {
+        if (merge instanceof Map) {
+            ((Map<?, ?>) merge).forEach((key, value) -> map.putIfAbsent(key.toString(), value));
+        } else if (merge instanceof List) {
+            ((List<?>) merge).forEach(child -> YamlDocumentReader.merge(map, child, startEvent));
+        } else {
+            throw new YAMLException("Expected a mapping for merging " + startEvent.getStartMark());
+        }
+    }
+
+    private static @Nullable Object copyValue(final @Nullable Object value) {
+        if (value instanceof ConfigMap) {
+            final ConfigMap copy = ConfigMap.copy((ConfigMap) value);
+            copy.replaceAll((key, child) -> YamlDocumentReader.copyValue(child));
+            return copy;
+        } else if (value instanceof List) {
+            final List<Object> copy = new ArrayList<>();
+            ((List<?>) value).forEach(child -> copy.add(YamlDocumentReader.copyValue(child)));
+            return copy;
+        }
+
+        return value;
+    }
+
+    private static final class ScalarConstructor extends SafeConstructor {
+        private @Nullable Object construct(final @NotNull ScalarNode node) {
+            return this.getConstructor(node).construct(node);
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.backend.util.ConfigMapperUtils;
+import com.heretere.hch.core.exception.ConfigFormatException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+
+/*
+ * Emits a ConfigMap as block style YAML straight to a writer, with the node comments written above their keys.
+ * The layout matches what SnakeYAML produces for block flow style so existing files don't churn on the first save.
+ */
+public final class YamlDocumentWriter {
+    private static final String COMMENT_PREFIX = "#";
+    private static final String INDICATORS = "-?:,[]{}#&*!|>'\"%@`";
+    private static final int INDENT = 2;
+
+    private final @NotNull Resolver resolver;
+    private final @NotNull String lineSeparator;
+
+    public YamlDocumentWriter() {
+        this.resolver = new Resolver();
+        this.lineSeparator = System.lineSeparator();
+    }
+
+    public void write(final @NotNull Writer output, final @NotNull ConfigMap configMap) throws IOException {
+        if (configMap.isEmpty()) {
+            output.write("{}");
+            output.write(this.lineSeparator);
+        } else {
+            this.writeMapping(output, configMap, 0, false);
+        }
+
+        output.flush();
+    }
+
+    private void writeMapping(
+            final @NotNull Writer output,
+            final @NotNull Map<?, ?> map,
+            final int indent,
+            final boolean firstInline
+    ) throws IOException {
+        boolean inline = firstInline;
+
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final String key = entry.getKey().toString();
+
+            if (!inline) {
+                this.writeComments(output, map, key, indent);
+                YamlDocumentWriter.writeIndent(output, indent);
+            }
+
+            inline = false;
+
+            output.write(this.formatString(key));
+            output.write(':');
+            this.writeValue(output, entry.getValue(), indent, true);
+        }
+    }
+
+    private void writeSequence(
+            final @NotNull Writer output,
+            final @NotNull Collection<?> collection,
+            final int indent,
+            final boolean firstInline
+    ) throws IOException {
+        boolean inline = firstInline;
+
+        for (final Object item : collection) {
+            if (!inline) {
+                if (item instanceof Map && !((Map<?, ?>) item).isEmpty()) {
+                    final Map<?, ?> map = (Map<?, ?>) item;
+                    final Iterator<?> keys = map.keySet().iterator();
+
+                    this.writeComments(output, map, keys.next().toString(), indent + YamlDocumentWriter.INDENT);
+                }
+
+                YamlDocumentWriter.writeIndent(output, indent);
+            }
+
+            inline = false;
+
+            output.write('-');
+            this.writeValue(output, item, indent + YamlDocumentWriter.INDENT, false);
+        }
+    }
+
+    /*
+     * Writes everything after a "key:" or "-" indicator. Mapping values nest one level deeper, sequence values stay
+     * at the indent of their key, and the first entry of a collection inside a sequence shares the dash line.
+     */
+    private void writeValue(
+            final @NotNull Writer output,
+            final @Nullable Object value,
+            final int indent,
+            final boolean mappingValue
+    ) throws IOException {
+        if (value instanceof Map && !((Map<?, ?>) value).isEmpty()) {
+            if (mappingValue) {
+                output.write(this.lineSeparator);
+                this.writeMapping(output, (Map<?, ?>) value, indent + YamlDocumentWriter.INDENT, false);
+            } else {
+                output.write(' ');
+                this.writeMapping(output, (Map<?, ?>) value, indent, true);
+            }
+        } else if (value instanceof Collection && !((Collection<?>) value).isEmpty()) {
+            if (mappingValue) {
+                output.write(this.lineSeparator);
+                this.writeSequence(output, (Collection<?>) value, indent, false);
+            } else {
+                output.write(' ');
+                this.writeSequence(output, (Collection<?>) value, indent, true);
+            }
+        } else {
+            output.write(' ');
+            output.write(this.formatScalar(value));
+            output.write(this.lineSeparator);
+        }
+    }
+
+    private void writeComments(
+            final @NotNull Writer output,
+            final @NotNull Map<?, ?> map,
+            final @NotNull String key,
+            final int indent
+    ) throws IOException {
+        if (!(map instanceof ConfigMap)) {
+            return;
+        }
+
+        for (final String comment : ((ConfigMap) map).getComments(key)) {
+            YamlDocumentWriter.writeIndent(output, indent);
+            output.write(ConfigMapperUtils.formatComment(comment, YamlDocumentWriter.COMMENT_PREFIX));
+            output.write(this.lineSeparator);
+        }
+    }
+
+    private static void writeIndent(final @NotNull Writer output, final int indent) throws IOException {
+        for (int i = 0; i < indent; i++) {
+            output.write(' ');
+        }
+    }
+
+    private @NotNull String formatScalar(final @Nullable Object value) throws ConfigFormatException {
+        if (value == null) {
+            return "null";
+        } else if (value instanceof Map) {
+            return "{}";
+        } else if (value instanceof Collection) {
+            return "[]";
+        } else if (value instanceof Boolean) {
+            return value.toString();
+        } else if (value instanceof Double || value instanceof Float) {
+            final double number = ((Number) value).doubleValue();
+
+            if (Double.isNaN(number)) {
+                return ".NaN";
+            } else if (Double.isInfinite(number)) {
+                return number > 0 ? ".inf" : "-.inf";
+            }
+
+            return this.formatNumber(value.toString(), Tag.FLOAT);
+        } else if (value instanceof Integer
+            || value instanceof Long
+            || value instanceof Short
+            || value instanceof Byte
+            || value instanceof BigInteger) {
+            return this.formatNumber(value.toString(), Tag.INT);
+        } else if (value instanceof Number) {
+            return this.formatNumber(value.toString(), Tag.FLOAT);
+        } else if (value instanceof byte[]) {
+            return "!!binary " + Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (value instanceof Date) {
+            return ConfigMapperUtils.formatTimestamp((Date) value);
+        } else if (value instanceof Enum) {
+            return this.formatString(((Enum<?>) value).name());
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            return this.formatString(value.toString());
+        }
+
+        throw new ConfigFormatException(
+                String.format("Can't write a value of type '%s' to YAML.", value.getClass().getName())
+        );
+    }
+
+    private @NotNull String formatNumber(final @NotNull String value, final @NotNull Tag tag) {
+        if (tag.equals(this.resolver.resolve(NodeId.scalar, value, true))) {
+            return value;
+        }
+
+        return "!!" + tag.getClassName() + " " + value;
+    }
+
+    private @NotNull String formatString(final @NotNull String value) {
+        if (this.isPlain(value)) {
+            return value;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            if (!YamlDocumentWriter.isPrintable(value.charAt(i))) {
+                return YamlDocumentWriter.doubleQuote(value);
+            }
+        }
+
+        return '\'' + value.replace("'", "''") + '\'';
+    }
+
+    private boolean isPlain(final @NotNull String value) {
+        if (value.isEmpty()
+            || value.startsWith("---")
+            || value.startsWith("...")
+            || Character.isWhitespace(value.charAt(0))
+            || Character.isWhitespace(value.charAt(value.length() - 1))
+            || value.charAt(value.length() - 1) == ':'
+            || value.contains(": ")
+            || value.contains(" #")) {
+            return false;
+        }
+
+        final char first = value.charAt(0);
+
+        if (YamlDocumentWriter.INDICATORS.indexOf(first) != -1
+            && !((first == '-' || first == '?' || first == ':')
+            && value.length() > 1
+            && value.charAt(1) != ' ')) {
+            return false;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+
+            if (character == '\t' || !YamlDocumentWriter.isPrintable(character)) {
+                return false;
+            }
+        }
+
+        /* Timestamps are read back as strings, so they don't need quoting either. */
+        final Tag tag = this.resolver.resolve(NodeId.scalar, value, true);
+
+        return Tag.STR.equals(tag) || Tag.TIMESTAMP.equals(tag);
+    }
+
+    private static boolean isPrintable(final char character) {
+        return (character >= ' ' && character < 0x7F)
+            || (character >= 0xA0 && character <= 0xFFFD && character != 0xFEFF);
+    }
+
+    private static @NotNull String doubleQuote(final @NotNull String value) {
+        final StringBuilder output = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            final char character = value.charAt(i);
+
+            switch (character) {
+                case '"':
+                    output.append("\\\"");
+                    break;
+                case '\\':
+                    output.append("\\\\");
+                    break;
+                case '\n':
+                    output.append("\\n");
+                    break;
+                case '\r':
+                    output.append("\\r");
+                    break;
+                case '\t':
+                    output.append("\\t");
+                    break;
+                case '\0':
+                    output.append("\\0");
+                    break;
+                default:
+                    if (YamlDocumentWriter.isPrintable(character)) {
+                        output.append(character);
+                    } else if (character <= 0xFF) {
+                        output.append(String.format("\\x%02X", (int) character));
+                    } else {
+                        output.append(String.format("\\u%04X", (int) character));
+                    }
+            }
+        }
+
+        return output.append('"').toString();
+    }
+}
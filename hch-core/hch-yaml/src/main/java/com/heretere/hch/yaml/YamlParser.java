@@ -1,48 +1,39 @@
 package com.heretere.hch.yaml;
 
-import com.google.gson.reflect.TypeToken;
 import com.heretere.hch.core.MultiConfigHandler;
-import com.heretere.hch.core.backend.config.ConfigReader;
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
 import com.heretere.hch.core.backend.config.ConfigWriter;
 import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.ConfigFormatException;
 import org.jetbrains.annotations.NotNull;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 
-public final class YamlParser implements ConfigReader, ConfigWriter {
-    private final Yaml yamlBackend;
+public final class YamlParser implements IndexingConfigReader, ConfigWriter {
+    private static final @NotNull YamlParser SHARED = new YamlParser();
 
-    private final @NotNull MultiConfigHandler parent;
-    private final @NotNull Set<@NotNull Throwable> errors;
+    private final @NotNull YamlDocumentReader documentReader;
+    private final @NotNull YamlDocumentWriter documentWriter;
 
-    private final @NotNull YamlCommentParser commentParser;
+    public YamlParser() {
+        this.documentReader = new YamlDocumentReader();
+        this.documentWriter = new YamlDocumentWriter();
+    }
 
+    /* Kept so existing callers still compile. */
+    @Deprecated
     public YamlParser(final @NotNull MultiConfigHandler parent) {
-        final DumperOptions options = new DumperOptions();
-        options.setPrettyFlow(true);
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-
-        this.yamlBackend = new Yaml(options);
-
-        this.parent = parent;
-        this.errors = new HashSet<>();
-
-        this.commentParser = new YamlCommentParser(this);
+        this();
     }
 
-    @Override
-    public @NotNull Set<@NotNull Throwable> getErrors() {
-        return Collections.unmodifiableSet(this.errors);
+    public static @NotNull YamlParser shared() {
+        return YamlParser.SHARED;
     }
 
     @Override
@@ -51,62 +42,46 @@ public final class YamlParser implements ConfigReader, ConfigWriter {
     }
 
     @Override
-    public @NotNull Optional<@NotNull ConfigMap> read(final @NotNull Path fileLocation) {
-        if (fileLocation.toFile().length() == 0) {
-            return Optional.of(new ConfigMap());
+    public @NotNull ConfigMap read(final @NotNull Reader input) throws IOException {
+        try {
+            return this.documentReader.read(input);
+        } catch (RuntimeException e) {
+            throw new ConfigFormatException("Couldn't parse YAML document.", e);
         }
+    }
 
-        if (this.errors.isEmpty()) {
-            final Optional<String> yaml = this.commentParser.readCommentsFromFile(fileLocation);
-
-            if (yaml.isPresent() && this.commentParser.getErrors().isEmpty()) {
-                try {
-                    final String json =
-                        this.parent.getGsonBackend().toJson((Map<?, ?>) this.yamlBackend.load(yaml.get()));
-
-                    return Optional.of(
-                        this.parent
-                            .getGsonBackend()
-                            .fromJson(json, new TypeToken<ConfigMap>() {}.getType())
-                    );
-                } catch (Exception e) {
-                    this.errors.add(e);
-                }
-            } else {
-                this.errors.addAll(this.commentParser.getErrors());
-            }
-        }
+    @Override
+    public boolean indexSections(
+            final @NotNull ByteBuffer content,
+            final @NotNull IndexingConfigReader.SectionConsumer consumer
+    ) {
+        return YamlSectionScanner.scan(content, consumer);
+    }
 
-        return Optional.empty();
+    @Override
+    public @NotNull ConfigMap readSection(final @NotNull String section) throws IOException {
+        return this.read(new StringReader(section));
     }
 
     @Override
-    public boolean write(
-            final @NotNull Path fileLocation,
+    public void write(
+            final @NotNull Writer output,
             final @NotNull ConfigMap configMap
-    ) {
-        if (this.errors.isEmpty()) {
-            final Optional<String> yaml = this.commentParser.writeCommentsToString(configMap);
-
-            if (yaml.isPresent() && this.commentParser.getErrors().isEmpty()) {
-                try {
-                    Files.write(
-                        fileLocation,
-                        yaml.get().getBytes(StandardCharsets.UTF_8),
-                        StandardOpenOption.TRUNCATE_EXISTING
-                    );
-                } catch (Exception e) {
-                    this.errors.add(e);
-                }
-            } else {
-                this.errors.addAll(this.commentParser.getErrors());
-            }
+    ) throws IOException {
+        try {
+            this.documentWriter.write(output, configMap);
+        } catch (RuntimeException e) {
+            throw new ConfigFormatException("Couldn't write YAML document.", e);
         }
-
-        return this.errors.isEmpty();
     }
 
-    public Yaml getYamlBackend() {
-        return this.yamlBackend;
+    /* Configured like the backend the parser used to expose. */
+    @Deprecated
+    public @NotNull Yaml getYamlBackend() {
+        final DumperOptions options = new DumperOptions();
+        options.setPrettyFlow(true);
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+
+        return new Yaml(options);
     }
 }
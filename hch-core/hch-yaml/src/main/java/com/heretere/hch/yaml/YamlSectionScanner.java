@@ -0,0 +1,158 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/* Gives up on anything it can't split safely, like anchors or flow style, so the file is parsed whole. */
+final class YamlSectionScanner {
+    private static final String INDICATORS = "-?:,[]{}#&*!|>'\"%@`.";
+    private static final Resolver RESOLVER = new Resolver();
+
+    private YamlSectionScanner() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    static boolean scan(
+            final @NotNull ByteBuffer content,
+            final @NotNull IndexingConfigReader.SectionConsumer consumer
+    ) {
+        final int limit = content.limit();
+        final int begin = content.position();
+
+        if (YamlSectionScanner.startsWithByteOrderMark(content, begin, limit)) {
+            return false;
+        }
+
+        int lineStart = begin;
+        int commentRunStart = -1;
+        int currentStart = begin;
+        String currentKey = null;
+
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+
+            while (lineEnd < limit && content.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            int firstChar = lineStart;
+
+            while (firstChar < lineEnd && YamlSectionScanner.isBlank(content.get(firstChar))) {
+                firstChar++;
+            }
+
+            if (firstChar < lineEnd && content.get(firstChar) == '#') {
+                if (commentRunStart == -1) {
+                    commentRunStart = lineStart;
+                }
+            } else if (firstChar < lineEnd) {
+                if (YamlSectionScanner.hasAnchorOrAlias(content, firstChar, lineEnd)) {
+                    return false;
+                }
+
+                /* Block sequences may start in the first column too, those lines belong to the key above them. */
+                if (firstChar == lineStart
+                        && !(currentKey != null && YamlSectionScanner.isSequenceEntry(content, lineStart, lineEnd))) {
+                    final String key = YamlSectionScanner.readKey(content, lineStart, lineEnd);
+
+                    if (key == null) {
+                        return false;
+                    }
+
+                    if (currentKey != null) {
+                        final int start = commentRunStart == -1 ? lineStart : commentRunStart;
+
+                        consumer.accept(currentKey, currentStart, start);
+                        currentStart = start;
+                    }
+
+                    currentKey = key;
+                }
+
+                commentRunStart = -1;
+            }
+
+            lineStart = lineEnd + 1;
+        }
+
+        if (currentKey != null) {
+            consumer.accept(currentKey, currentStart, limit);
+        }
+
+        return true;
+    }
+
+    private static boolean startsWithByteOrderMark(
+            final @NotNull ByteBuffer content,
+            final int begin,
+            final int limit
+    ) {
+        return limit - begin >= 3
+            && content.get(begin) == (byte) 0xEF
+            && content.get(begin + 1) == (byte) 0xBB
+            && content.get(begin + 2) == (byte) 0xBF;
+    }
+
+    private static boolean isBlank(final byte character) {
+        return character == ' ' || character == '\t' || character == '\r';
+    }
+
+    private static boolean isSequenceEntry(final @NotNull ByteBuffer content, final int start, final int end) {
+        return content.get(start) == '-' && (start + 1 == end || YamlSectionScanner.isBlank(content.get(start + 1)));
+    }
+
+    private static boolean hasAnchorOrAlias(final @NotNull ByteBuffer content, final int start, final int end) {
+        for (int index = start; index < end; index++) {
+            final byte character = content.get(index);
+
+            if (character == '&' || character == '*') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static @Nullable String readKey(final @NotNull ByteBuffer content, final int start, final int end) {
+        if (YamlSectionScanner.INDICATORS.indexOf(content.get(start)) != -1) {
+            return null;
+        }
+
+        for (int index = start; index < end; index++) {
+            final byte character = content.get(index);
+
+            if (character == '#' && YamlSectionScanner.isBlank(content.get(index - 1))) {
+                return null;
+            }
+
+            if (character == ':' && (index + 1 == end || YamlSectionScanner.isBlank(content.get(index + 1)))) {
+                final byte[] bytes = new byte[index - start];
+
+                for (int offset = 0; offset < bytes.length; offset++) {
+                    bytes[offset] = content.get(start + offset);
+                }
+
+                final String key = new String(bytes, StandardCharsets.UTF_8).trim();
+
+                /* Dotted keys and keys the parser turns into numbers or booleans wouldn't match the path lookups. */
+                if (key.isEmpty()
+                        || key.indexOf(ConfigMap.PATH_SEPARATOR) != -1
+                        || !Tag.STR.equals(YamlSectionScanner.RESOLVER.resolve(NodeId.scalar, key, true))) {
+                    return null;
+                }
+
+                return key;
+            }
+        }
+
+        return null;
+    }
+}
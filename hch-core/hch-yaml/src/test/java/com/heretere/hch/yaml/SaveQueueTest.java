@@ -0,0 +1,145 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.backend.ConfigResult;
+import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SaveQueueTest {
+    @TempDir
+    Path directory;
+
+    @ConfigFile("test.yml")
+    static class Settings {
+        int value = 1;
+    }
+
+    private MultiConfigHandler newHandler() {
+        return new MultiConfigHandler(this.directory).registerFileExtensionHandler(YamlParser.shared(), "yml");
+    }
+
+    private Path file() {
+        return this.directory.resolve("test.yml");
+    }
+
+    private String readFile() throws IOException {
+        return new String(Files.readAllBytes(this.file()), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void savesOfOneFileRunInTheOrderTheyWereCaptured() throws IOException {
+        final MultiConfigHandler handler = this.newHandler();
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+        final Executor executor = tasks::add;
+
+        handler.setIOExecutor(executor);
+
+        final Settings settings = handler.loadPOJOClass(Settings.class).orElseThrow(AssertionError::new);
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        settings.value = 2;
+        final CompletableFuture<ConfigResult<HCHConfig>> first = handler.trySaveConfigAsync(config, true);
+        settings.value = 3;
+        final CompletableFuture<ConfigResult<HCHConfig>> second = handler.trySaveConfigAsync(config, true);
+
+        /* the second save is only handed to the executor once the first one finished */
+        assertEquals(1, tasks.size());
+        tasks.remove().run();
+        assertTrue(first.join().isSuccessful());
+        assertTrue(this.readFile().contains("value: 2"));
+
+        assertEquals(1, tasks.size());
+        tasks.remove().run();
+        assertTrue(second.join().isSuccessful());
+        assertTrue(this.readFile().contains("value: 3"));
+        assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    void failedSaveKeepsThePOJOMarkedModified() throws IOException {
+        final MultiConfigHandler handler = this.newHandler();
+        final Settings settings = handler.loadPOJOClass(Settings.class).orElseThrow(AssertionError::new);
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        Files.write(this.file(), "value: [1, 2\n".getBytes(StandardCharsets.UTF_8));
+
+        settings.value = 5;
+        assertTrue(handler.markModified(settings));
+        assertFalse(handler.trySaveConfig(config, false).isSuccessful());
+        assertTrue(config.isModified());
+
+        Files.write(this.file(), "value: 1\n".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(handler.trySaveConfig(config, false).isSuccessful());
+        assertTrue(this.readFile().contains("value: 5"));
+        assertFalse(config.isModified());
+    }
+
+    @Test
+    void readsAndMarksDoNotWaitForAWriteInProgress() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ConfigWriter blockingWriter = new ConfigWriter() {
+            @Override
+            public void write(final Writer output, final ConfigMap configMap) throws IOException {
+                writing.countDown();
+
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+
+                YamlParser.shared().write(output, configMap);
+            }
+
+            @Override
+            public String getName() {
+                return "blocking";
+            }
+        };
+
+        final MultiConfigHandler handler = this.newHandler();
+        final Settings settings = handler.loadPOJOClass(Settings.class).orElseThrow(AssertionError::new);
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        handler.registerFileExtensionHandler(blockingWriter, "yml");
+        settings.value = 7;
+
+        final CompletableFuture<ConfigResult<HCHConfig>> save = handler.trySaveConfigAsync(config, true);
+
+        assertTrue(writing.await(10, TimeUnit.SECONDS));
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals(Optional.of(7), config.get("value"));
+            assertTrue(handler.markModified(settings));
+        });
+
+        release.countDown();
+
+        assertTrue(save.get(10, TimeUnit.SECONDS).isSuccessful());
+        assertTrue(this.readFile().contains("value: 7"));
+    }
+}
@@ -0,0 +1,130 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.annotation.POJOKey;
+import com.heretere.hch.core.backend.io.SnapshotCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YamlConfigTest {
+    @TempDir
+    Path directory;
+
+    @ConfigFile("test.yml")
+    static class Settings {
+        int first = 1;
+        int second = 2;
+    }
+
+    @ConfigFile("test.yml")
+    @POJOKey("shop")
+    static class Shop {
+        String title = "Shop";
+    }
+
+    private MultiConfigHandler newHandler() {
+        return new MultiConfigHandler(this.directory).registerFileExtensionHandler(YamlParser.shared(), "yml");
+    }
+
+    private void writeFile(final String contents) throws IOException {
+        Files.write(this.directory.resolve("test.yml"), contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readFile() throws IOException {
+        return new String(Files.readAllBytes(this.directory.resolve("test.yml")), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void keysDeletedFromTheFileAreWrittenBack() throws IOException {
+        this.writeFile("first: 1\nsecond: 2\n");
+
+        final MultiConfigHandler handler = this.newHandler();
+        assertTrue(handler.loadPOJOClass(Settings.class).isPresent());
+
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        this.writeFile("first: 1\n");
+        handler.reloadConfig(config);
+
+        assertFalse(config.isUnchangedOnDisk(YamlParser.shared()));
+        assertTrue(handler.saveConfig(config, false));
+        assertTrue(this.readFile().contains("second: 2"));
+        assertEquals(Optional.of(2), config.get("second"));
+    }
+
+    @Test
+    void staleSectionIndexReadsTheFileWithoutReloading() throws IOException {
+        this.writeFile("shop:\n  title: One\nother:\n  value: 1\n");
+
+        final MultiConfigHandler handler = this.newHandler().setLazyLoading(true);
+        final Shop shop = handler.loadPOJOClass(Shop.class).orElseThrow(AssertionError::new);
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+        final List<String> fired = new ArrayList<>();
+
+        config.subscribe("shop", Object.class, event -> fired.add(event.getKey()));
+        this.writeFile("shop:\n  title: Two\nother:\n  value: 22\n");
+
+        assertEquals(Optional.of(22), config.get("other.value"));
+        assertEquals("One", shop.title);
+        assertTrue(fired.isEmpty());
+        assertTrue(config.getErrors().isEmpty());
+
+        handler.reloadConfig(config);
+
+        assertEquals("Two", shop.title);
+        assertEquals(Collections.singletonList("shop"), fired);
+    }
+
+    @Test
+    void sectionThatFailsToParseStaysUnread() throws IOException {
+        this.writeFile("shop:\n  title: One\nother:\n  value: [1, 2\n");
+
+        final MultiConfigHandler handler = this.newHandler().setLazyLoading(true);
+        assertTrue(handler.loadPOJOClass(Shop.class).isPresent());
+
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        assertFalse(config.get("other.value").isPresent());
+        assertFalse(config.getErrors().isEmpty());
+        assertFalse(handler.saveConfig(config, true));
+
+        this.writeFile("shop:\n  title: One\nother:\n  value: 3\n");
+
+        assertTrue(config.read(YamlParser.shared()));
+        assertEquals(Optional.of(3), config.get("other.value"));
+    }
+
+    @Test
+    void savingRefreshesTheSnapshotCache() throws IOException {
+        this.writeFile("shop:\n  title: One\n");
+
+        final Path cacheDirectory = this.directory.resolve("cache");
+        final MultiConfigHandler handler = this.newHandler().setSnapshotCacheDirectory(cacheDirectory);
+        final Shop shop = handler.loadPOJOClass(Shop.class).orElseThrow(AssertionError::new);
+        final HCHConfig config = handler.getConfigByRelativePath("test.yml").orElseThrow(AssertionError::new);
+
+        shop.title = "Two";
+        assertTrue(handler.saveConfig(config, true));
+
+        final Optional<SnapshotCache.Hit> hit = new SnapshotCache(cacheDirectory, this.directory)
+            .read(this.directory.resolve("test.yml"));
+
+        assertTrue(hit.isPresent());
+        assertEquals("Two", hit.get().getTree().getPath("shop.title"));
+    }
+}
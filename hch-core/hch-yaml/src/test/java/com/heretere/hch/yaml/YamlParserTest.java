@@ -0,0 +1,155 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.ConfigFormatException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YamlParserTest {
+    private static final String DOCUMENT = "# the shop\n"
+        + "shop:\n"
+        + "  # shown in the menu\n"
+        + "  title: Shop\n"
+        + "  open: true\n"
+        + "  price: 2.5\n"
+        + "  stock: 12\n"
+        + "  items:\n"
+        + "  - axe\n"
+        + "  - sword\n"
+        + "  1.16: nether\n"
+        + "empty: ''\n";
+
+    private static ConfigMap read(final String document) throws IOException {
+        return YamlParser.shared().read(new StringReader(document));
+    }
+
+    private static String write(final ConfigMap map) throws IOException {
+        final StringWriter output = new StringWriter();
+        YamlParser.shared().write(output, map);
+
+        return output.toString();
+    }
+
+    @Test
+    void readsNestedSectionsListsAndScalarTypes() throws IOException {
+        final ConfigMap map = YamlParserTest.read(YamlParserTest.DOCUMENT);
+
+        assertEquals("Shop", map.getPath("shop.title"));
+        assertEquals(true, map.getPath("shop.open"));
+        assertEquals(2.5, map.getPath("shop.price"));
+        assertEquals(12, map.getPath("shop.stock"));
+        assertEquals(Arrays.asList("axe", "sword"), map.getPath("shop.items"));
+        assertEquals("nether", map.getPath("shop.1.16"));
+        assertEquals("", map.get("empty"));
+    }
+
+    @Test
+    void attachesCommentsToTheKeyBelowThem() throws IOException {
+        final ConfigMap map = YamlParserTest.read(YamlParserTest.DOCUMENT);
+
+        assertEquals(Collections.singletonList("# the shop"), map.getComments("shop"));
+        assertEquals(Collections.singletonList("# shown in the menu"), map.getPathComments("shop.title"));
+        assertTrue(map.getComments("empty").isEmpty());
+    }
+
+    @Test
+    void writtenDocumentsReadBackTheSame() throws IOException {
+        final ConfigMap map = YamlParserTest.read(YamlParserTest.DOCUMENT);
+        final String written = YamlParserTest.write(map);
+        final ConfigMap reread = YamlParserTest.read(written);
+
+        assertEquals(map, reread);
+        assertEquals(map.getComments("shop"), reread.getComments("shop"));
+        assertEquals(map.getPathComments("shop.title"), reread.getPathComments("shop.title"));
+        assertEquals(written, YamlParserTest.write(reread));
+    }
+
+    @Test
+    void hashLinesInsideMultiLineScalarsAreNotComments() throws IOException {
+        final String document = "literal: |\n"
+            + "  # Welcome\n"
+            + "  line2\n"
+            + "folded: >\n"
+            + "  # folded\n"
+            + "  line2\n"
+            + "# real\n"
+            + "double: \"first\n"
+            + "  # double\"\n"
+            + "single: 'first\n"
+            + "  # single'\n"
+            + "next: 1\n";
+
+        final ConfigMap map = YamlParserTest.read(document);
+
+        assertEquals("# Welcome\nline2\n", map.get("literal"));
+        assertEquals("# folded line2\n", map.get("folded"));
+        assertEquals("first # double", map.get("double"));
+        assertEquals("first # single", map.get("single"));
+        assertEquals(Collections.singletonList("# real"), map.getComments("double"));
+        assertTrue(map.getComments("folded").isEmpty());
+        assertTrue(map.getComments("single").isEmpty());
+        assertTrue(map.getComments("next").isEmpty());
+
+        final ConfigMap reread = YamlParserTest.read(YamlParserTest.write(map));
+
+        assertEquals(map, reread);
+        assertEquals(map.getAllComments(), reread.getAllComments());
+    }
+
+    @Test
+    void binaryValuesRoundTrip() throws IOException {
+        final ConfigMap map = YamlParserTest.read("data: !!binary aGVsbG8=\n");
+
+        assertArrayEquals("hello".getBytes(StandardCharsets.UTF_8), (byte[]) map.get("data"));
+
+        final String written = YamlParserTest.write(map);
+
+        assertTrue(written.contains("data: !!binary aGVsbG8="));
+        assertArrayEquals((byte[]) map.get("data"), (byte[]) YamlParserTest.read(written).get("data"));
+    }
+
+    @Test
+    void datesAreWrittenAsTimestamps() throws IOException {
+        final ConfigMap map = new ConfigMap();
+        map.put("when", new Date(946684800100L));
+
+        final String written = YamlParserTest.write(map);
+        final ConfigMap reread = YamlParserTest.read(written);
+
+        assertTrue(written.contains("when: 2000-01-01T00:00:00.100Z"));
+        assertEquals("2000-01-01T00:00:00.100Z", reread.get("when"));
+        assertEquals(written, YamlParserTest.write(reread));
+    }
+
+    @Test
+    void unsupportedValuesAreRejected() {
+        final ConfigMap map = new ConfigMap();
+        map.put("value", new Object());
+
+        assertThrows(ConfigFormatException.class, () -> YamlParserTest.write(map));
+    }
+
+    @Test
+    void emptyDocumentsReadAsEmptyMaps() throws IOException {
+        assertTrue(YamlParserTest.read("").isEmpty());
+        assertTrue(YamlParserTest.read("# only a comment\n").isEmpty());
+    }
+
+    @Test
+    void malformedDocumentsAreReportedAsIOExceptions() {
+        assertThrows(IOException.class, () -> YamlParserTest.read("shop: [axe, sword\n"));
+        assertThrows(IOException.class, () -> YamlParserTest.read("- axe\n- sword\n"));
+    }
+}
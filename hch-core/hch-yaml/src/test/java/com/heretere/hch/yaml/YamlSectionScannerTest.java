@@ -0,0 +1,91 @@
+package com.heretere.hch.yaml;
+
+import com.heretere.hch.core.backend.io.Fingerprints;
+import com.heretere.hch.core.backend.io.SectionIndex;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YamlSectionScannerTest {
+    @TempDir
+    Path directory;
+
+    private static Optional<Map<String, String>> scan(final String document) {
+        final byte[] bytes = document.getBytes(StandardCharsets.UTF_8);
+        final Map<String, String> sections = new LinkedHashMap<>();
+
+        final boolean indexed = YamlParser.shared().indexSections(
+            ByteBuffer.wrap(bytes),
+            (key, start, end) -> sections.put(key, new String(bytes, start, end - start, StandardCharsets.UTF_8))
+        );
+
+        return indexed ? Optional.of(sections) : Optional.empty();
+    }
+
+    @Test
+    void splitsTopLevelKeysWithTheirComments() throws IOException {
+        final String document = "# header\n"
+            + "shop:\n"
+            + "  title: Shop\n"
+            + "  items:\n"
+            + "  - axe\n"
+            + "\n"
+            + "# price of everything\n"
+            + "price: 4\n"
+            + "other: {a: 1}\n";
+
+        final Map<String, String> sections = YamlSectionScannerTest.scan(document).orElseThrow(AssertionError::new);
+
+        assertEquals(Arrays.asList("shop", "price", "other"), Arrays.asList(sections.keySet().toArray()));
+        assertTrue(sections.get("shop").startsWith("# header\nshop:"));
+        assertTrue(sections.get("price").startsWith("# price of everything\nprice: 4"));
+
+        final ConfigMap merged = new ConfigMap();
+
+        for (final String section : sections.values()) {
+            merged.putAll(YamlParser.shared().readSection(section));
+        }
+
+        assertEquals(YamlParser.shared().read(new StringReader(document)), merged);
+    }
+
+    @Test
+    void givesUpOnDocumentsItCantSplitSafely() {
+        assertFalse(YamlSectionScannerTest.scan("base: &base\n  a: 1\nother:\n  <<: *base\n").isPresent());
+        assertFalse(YamlSectionScannerTest.scan("{a: 1, b: 2}\n").isPresent());
+        assertFalse(YamlSectionScannerTest.scan("---\na: 1\n").isPresent());
+        assertFalse(YamlSectionScannerTest.scan("1: one\n").isPresent());
+    }
+
+    @Test
+    void indexIsOnlyCurrentWhileTheFileIsUnchanged() throws IOException {
+        final Path file = this.directory.resolve("test.yml");
+        Files.write(file, "a:\n  b: 1\nc: 2\n".getBytes(StandardCharsets.UTF_8));
+
+        final SectionIndex index = SectionIndex.build(file, YamlParser.shared(), Fingerprints.newDigest())
+            .orElseThrow(AssertionError::new);
+
+        assertTrue(index.isCurrent());
+        assertEquals(Optional.of(1), Optional.ofNullable(YamlParser.shared().readSection(index.readSection("a"))
+            .getPath("a.b")));
+
+        Files.write(file, "a:\n  b: 10\nc: 2\n".getBytes(StandardCharsets.UTF_8));
+
+        assertFalse(index.isCurrent());
+    }
+}
@@ -1,24 +1,66 @@
 package com.heretere.hch.core;
 
-import com.google.gson.reflect.TypeToken;
+import com.heretere.hch.core.backend.ConfigResult;
 import com.heretere.hch.core.backend.ErrorHolder;
+import com.heretere.hch.core.backend.binder.POJOBinder;
 import com.heretere.hch.core.backend.config.ConfigReader;
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
 import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.io.AtomicFileWriter;
+import com.heretere.hch.core.backend.io.Fingerprints;
+import com.heretere.hch.core.backend.io.MappedFileReader;
+import com.heretere.hch.core.backend.io.SectionIndex;
+import com.heretere.hch.core.backend.io.SnapshotCache;
 import com.heretere.hch.core.backend.map.ConfigMap;
 import com.heretere.hch.core.backend.util.ConfigMapperUtils;
+import com.heretere.hch.core.backend.watch.ConfigValueListener;
+import com.heretere.hch.core.backend.watch.ListenerTrie;
+import com.heretere.hch.core.backend.watch.Subscription;
+import com.heretere.hch.core.exception.ConfigFormatException;
 import com.heretere.hch.core.exception.InvalidPojoException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 public class HCHConfig implements ErrorHolder {
+    private static final int DRAIN_BUFFER_SIZE = 8192;
+
     private final @NotNull MultiConfigHandler parent;
     private final @NotNull ConfigMap pojos;
+    private final @NotNull Set<@NotNull String> modifiedPOJOs;
     private final @NotNull Path fileLocation;
     private final @NotNull Set<@NotNull Throwable> errors;
+    private final @NotNull AtomicReference<@NotNull ConfigMap> snapshot;
+    private final @NotNull ListenerTrie listeners;
+    private final @NotNull Set<@NotNull String> pendingSections;
+    /* Held for a whole save, so saves of the file run one at a time without blocking readers on the config's lock. */
+    private final @NotNull Object saveLock;
+    private @NotNull CompletableFuture<?> pendingSave;
     private @NotNull ConfigMap config;
+    private byte @Nullable [] fingerprint;
+    /* size and modification time of the file as of the last read or write, -1 while unknown */
+    private long diskSize;
+    private long diskModified;
+    private boolean publishDeferred;
+    private @Nullable SectionIndex sectionIndex;
+    private @Nullable IndexingConfigReader sectionReader;
 
     public HCHConfig(
             final @NotNull MultiConfigHandler parent,
@@ -26,101 +68,672 @@ public class HCHConfig implements ErrorHolder {
     ) {
         this.parent = parent;
         this.config = new ConfigMap();
+        this.snapshot = new AtomicReference<>(new ConfigMap().freeze());
+        this.pendingSave = CompletableFuture.completedFuture(null);
+        this.listeners = new ListenerTrie();
+        this.pendingSections = ConcurrentHashMap.newKeySet();
+        this.saveLock = new Object();
         this.pojos = new ConfigMap();
+        this.modifiedPOJOs = new HashSet<>();
         this.fileLocation = fileLocation;
-        this.errors = new HashSet<>();
+        this.errors = ConcurrentHashMap.newKeySet();
+        this.diskSize = -1;
+        this.diskModified = -1;
     }
 
     public boolean createIfNotExists() {
-        if (this.errors.isEmpty()) {
-            try {
-                if (!Files.exists(this.fileLocation)) {
-                    Files.createDirectories(this.fileLocation.getParent());
-                    Files.createFile(this.fileLocation);
-                }
-            } catch (Exception e) {
-                this.errors.add(e);
-            }
+        try {
+            this.createFileIfMissing();
+        } catch (IOException e) {
+            this.errors.add(e);
         }
 
         return this.errors.isEmpty();
     }
 
+    private void createFileIfMissing() throws IOException {
+        if (!Files.exists(this.fileLocation)) {
+            Files.createDirectories(this.fileLocation.getParent());
+            Files.createFile(this.fileLocation);
+        }
+    }
+
+    public @NotNull ConfigMap getSnapshot() {
+        this.ensureLoaded("");
+        return this.snapshot.get();
+    }
+
+    /* Listeners run under the config's lock, slow work should be handed off. */
+    private void publish() {
+        this.publish(true);
+    }
+
+    private void publish(final boolean notifyListeners) {
+        if (this.publishDeferred) {
+            return;
+        }
+
+        final ConfigMap before = this.snapshot.get();
+        final ConfigMap after = this.config.snapshot();
+
+        this.snapshot.set(after);
+
+        if (notifyListeners && before != after && !this.listeners.isEmpty()) {
+            this.listeners.dispatch(
+                this.parent.getGsonBackend(),
+                this,
+                before,
+                after,
+                ConfigMapperUtils.diff(before, after)
+            );
+        }
+    }
+
+    public <T> @NotNull Subscription<T> subscribe(
+            final @NotNull String pattern,
+            final @NotNull Class<T> type,
+            final @NotNull ConfigValueListener<T> listener
+    ) {
+        return this.listeners.subscribe(pattern, type, listener);
+    }
+
+    public @NotNull Subscription<Object> subscribe(
+            final @NotNull String pattern,
+            final @NotNull ConfigValueListener<Object> listener
+    ) {
+        return this.subscribe(pattern, Object.class, listener);
+    }
+
     public @NotNull Optional<@NotNull Object> get(final @NotNull String dottedKey) {
-        return Optional.ofNullable(dottedKey.isEmpty() ? this.config : this.config.get(dottedKey));
+        this.ensureLoaded(dottedKey);
+        return Optional.ofNullable(this.snapshot.get().getPath(dottedKey));
+    }
+
+    public @NotNull List<@NotNull String> getComments(final @NotNull String dottedKey) {
+        this.ensureLoaded(dottedKey);
+        return this.snapshot.get().getPathComments(dottedKey);
+    }
+
+    public synchronized void setComments(
+            final @NotNull String dottedKey,
+            final @NotNull List<@NotNull String> comments
+    ) {
+        this.ensureLoaded(dottedKey);
+        this.config.setPathComments(dottedKey, comments);
+        this.publish();
     }
 
     public boolean read(final @NotNull ConfigReader reader) {
-        if (this.errors.isEmpty() && this.createIfNotExists()) {
-            final Optional<ConfigMap> configMap = reader.read(this.fileLocation);
+        return this.tryRead(reader).isSuccessful();
+    }
 
-            if (configMap.isPresent()) {
-                final ConfigMap tmp = ConfigMapperUtils.deflateMap(this.config);
+    /* A file that couldn't be read won't be saved over until a later read or reload succeeds. */
+    public synchronized @NotNull ConfigResult<@NotNull HCHConfig> tryRead(final @NotNull ConfigReader reader) {
+        final long start = System.nanoTime();
 
-                this.config = ConfigMapperUtils.inflateMap(ConfigMapperUtils.deepMerge(tmp, configMap.get()));
-            } else {
-                this.errors.addAll(reader.getErrors());
+        try {
+            this.readFromDisk(reader);
+            this.errors.clear();
+
+            return ConfigResult.success(this, start);
+        } catch (Exception e) {
+            this.errors.add(e);
+
+            return ConfigResult.failure(e, start);
+        }
+    }
+
+    private void readFromDisk(final @NotNull ConfigReader reader) throws IOException {
+        this.createFileIfMissing();
+
+        /* Taken before reading, an edit made while the file is read then shows up as a change on the next save. */
+        final long sampledAt = System.currentTimeMillis();
+        final BasicFileAttributes attributes = this.readAttributes();
+        final Optional<SnapshotCache.Hit> cached = this.parent.getSnapshotCache()
+            .flatMap(cache -> cache.read(this.fileLocation));
+
+        if (cached.isPresent()) {
+            this.mergeFromFile(cached.get().getTree(), cached.get().getFingerprint());
+            this.rememberDiskState(attributes);
+            return;
+        }
+
+        final MessageDigest digest = Fingerprints.newDigest();
+
+        if (this.parent.isLazyLoading() && reader instanceof IndexingConfigReader) {
+            if (this.indexSections((IndexingConfigReader) reader, digest)) {
+                this.rememberDiskState(attributes);
+                return;
             }
+
+            digest.reset();
         }
 
-        return this.errors.isEmpty();
+        final ConfigMap configMap = this.readFile(reader, digest);
+        final byte[] fileFingerprint = digest.digest();
+
+        this.cacheParsedTree(configMap, fileFingerprint, attributes, sampledAt);
+        this.mergeFromFile(configMap, fileFingerprint);
+        this.rememberDiskState(attributes);
     }
 
-    private void recursiveUpdatePOJOParent(
-            final @NotNull String key,
-            final @NotNull ConfigMap value
-    ) {
-        final String parentKey = ConfigMapperUtils.getEverythingBeforeLastPeriod(key);
-        final String baseKey = ConfigMapperUtils.getEverythingAfterLastPeriod(key);
+    private @NotNull BasicFileAttributes readAttributes() throws IOException {
+        return Files.readAttributes(this.fileLocation, BasicFileAttributes.class);
+    }
 
-        if (baseKey == null) {
+    private void rememberDiskState(final @NotNull BasicFileAttributes attributes) {
+        this.diskSize = attributes.size();
+        this.diskModified = attributes.lastModifiedTime().toMillis();
+    }
+
+    /* A same-size edit within the timestamp resolution goes unnoticed, so callers have to opt in. */
+    public synchronized boolean isUntouchedOnDisk() {
+        if (this.diskSize < 0 || !this.errors.isEmpty()) {
+            return false;
+        }
+
+        try {
+            final BasicFileAttributes attributes = this.readAttributes();
+
+            return attributes.size() == this.diskSize
+                && attributes.lastModifiedTime().toMillis() == this.diskModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /* Unread sections count as matching the file, so they are neither dirty nor in a snapshot. */
+    private boolean indexSections(
+            final @NotNull IndexingConfigReader reader,
+            final @NotNull MessageDigest digest
+    ) throws IOException {
+        final Optional<SectionIndex> index = SectionIndex.build(this.fileLocation, reader, digest);
+
+        if (!index.isPresent()) {
+            return false;
+        }
+
+        this.fingerprint = digest.digest();
+        this.sectionIndex = index.get();
+        this.sectionReader = reader;
+        this.pendingSections.clear();
+        this.pendingSections.addAll(index.get().getKeys());
+
+        return true;
+    }
+
+    private void ensureLoaded(final @NotNull String dottedKey) {
+        if (this.pendingSections.isEmpty()) {
+            return;
+        }
+
+        if (dottedKey.isEmpty()) {
+            this.loadAllSections();
             return;
         }
 
-        final ConfigMap attach = new ConfigMap();
-        attach.put(baseKey, value);
+        final String section = ConfigMapperUtils.getFirstSegment(dottedKey);
 
-        if (parentKey != null) {
-            this.config.put(parentKey, ConfigMapperUtils.deepMerge((ConfigMap) this.config.get(parentKey), attach));
-            this.recursiveUpdatePOJOParent(parentKey, attach);
+        if (this.pendingSections.contains(section)) {
+            this.loadSection(section);
         }
     }
 
-    private boolean updateConfigWithPOJOs() {
+    private synchronized void loadAllSections() {
+        new ArrayList<>(this.pendingSections).forEach(this::loadSection);
+    }
+
+    private synchronized void loadSection(final @NotNull String key) {
+        final SectionIndex index = this.sectionIndex;
+        final IndexingConfigReader reader = this.sectionReader;
+
+        if (!this.errors.isEmpty() || index == null || reader == null || !this.pendingSections.contains(key)) {
+            return;
+        }
+
         try {
-            this.pojos.forEach((key, pojo) -> {
-                final ConfigMap newPOJOSection = this.parent.getGsonBackend()
-                    .fromJson(
-                        this.parent.getGsonBackend().toJson(pojo),
-                        new TypeToken<ConfigMap>() {}.getType()
-                    );
-
-                this.config.put(key, ConfigMapperUtils.deepMerge((ConfigMap) this.config.get(key), newPOJOSection));
-                newPOJOSection.forEach((childKey, value) -> this.config.put(key + "." + childKey, value));
-
-                this.recursiveUpdatePOJOParent(key, newPOJOSection);
-            });
+            if (!index.isCurrent()) {
+                this.loadPendingFromFile(reader);
+                return;
+            }
+
+            final ConfigMap section = reader.readSection(index.readSection(key));
+
+            this.pendingSections.remove(key);
+            this.mergeParsed(section, false);
         } catch (Exception e) {
+            /* The section stays unread and the file won't be saved over until it reads again. */
             this.errors.add(e);
         }
+    }
 
-        return this.errors.isEmpty();
+    /*
+     * The index no longer matches the file, so the unread sections come from a full read of it. Reporting the edit,
+     * rebinding and listeners are left to the next reload.
+     */
+    private void loadPendingFromFile(final @NotNull IndexingConfigReader reader) throws IOException {
+        final ConfigMap tree = this.readFile(reader, Fingerprints.newDigest());
+        final ConfigMap sections = new ConfigMap();
+
+        this.pendingSections.forEach(key -> {
+            if (tree.containsKey(key)) {
+                sections.put(key, tree.get(key));
+                sections.setComments(key, tree.getComments(key));
+            }
+        });
+
+        this.clearSectionIndex();
+        this.mergeParsed(sections, false);
+    }
+
+    private void clearSectionIndex() {
+        this.sectionIndex = null;
+        this.sectionReader = null;
+        this.pendingSections.clear();
+    }
+
+    /* A file that can't be read or parsed leaves the config untouched. */
+    public synchronized @NotNull Set<@NotNull String> reload(final @NotNull ConfigReader reader) throws IOException {
+        final long sampledAt = System.currentTimeMillis();
+        final BasicFileAttributes attributes = this.readAttributes();
+        final MessageDigest digest = Fingerprints.newDigest();
+        final ConfigMap configMap;
+
+        try {
+            configMap = this.readFile(reader, digest);
+        } catch (ConfigFormatException e) {
+            throw new ConfigFormatException(String.format("Couldn't parse '%s'.", this.fileLocation), e);
+        }
+
+        final byte[] fileFingerprint = digest.digest();
+
+        /* Unread sections are loaded anyway, their index no longer matches the file. */
+        if (this.pendingSections.isEmpty()
+            && this.fingerprint != null
+            && MessageDigest.isEqual(this.fingerprint, fileFingerprint)) {
+            this.rememberDiskState(attributes);
+            return Collections.emptySet();
+        }
+
+        /* Sections nobody has read yet were never seen with their old values, so they don't count as changed. */
+        final Set<String> unread = new HashSet<>(this.pendingSections);
+        final ConfigMap before = this.snapshot.get();
+
+        this.cacheParsedTree(configMap, fileFingerprint, attributes, sampledAt);
+        this.mergeFromFile(configMap, fileFingerprint);
+        this.rememberDiskState(attributes);
+        this.errors.clear();
+
+        final Set<String> changed = ConfigMapperUtils.diff(before, this.snapshot.get());
+        changed.removeIf(key -> unread.contains(ConfigMapperUtils.getFirstSegment(key)));
+
+        return Collections.unmodifiableSet(changed);
+    }
+
+    /* Has to run before merging, which hands the tree's sections to the live config. */
+    private void cacheParsedTree(
+            final @NotNull ConfigMap tree,
+            final byte @NotNull [] fileFingerprint,
+            final @NotNull BasicFileAttributes attributes,
+            final long sampledAt
+    ) {
+        this.parent.getSnapshotCache()
+            .ifPresent(cache -> cache.write(this.fileLocation, attributes, sampledAt, fileFingerprint, tree));
+    }
+
+    private void mergeFromFile(final @NotNull ConfigMap fromFile, final byte @NotNull [] fileFingerprint) {
+        /* Keys the file doesn't have, e.g. ones deleted from it by hand, are kept and still have to be written back. */
+        final boolean missingFromFile = ConfigMapperUtils.hasKeysMissingFrom(this.config, fromFile);
+
+        this.clearSectionIndex();
+        this.fingerprint = fileFingerprint;
+        this.mergeParsed(fromFile, true);
+
+        if (missingFromFile) {
+            this.config.markModified();
+        }
+    }
+
+    private void mergeParsed(final @NotNull ConfigMap parsed, final boolean notifyListeners) {
+        final boolean unsavedChanges = this.config.isModified();
+
+        this.config = ConfigMapperUtils.deepMerge(this.config, ConfigMapperUtils.toConfigTree(parsed));
+
+        if (!unsavedChanges) {
+            this.config.clearModified();
+        }
+
+        this.publish(notifyListeners);
+    }
+
+    /* Unsaved edits on the rebound POJOs are replaced by what the file says. */
+    public synchronized void rebindPOJOs(final @NotNull Set<@NotNull String> changedKeys) {
+        final ConfigMap current = this.snapshot.get();
+
+        this.pojos.forEach((key, pojo) -> {
+            if (HCHConfig.isAffected(key, changedKeys)) {
+                POJOBinder.readInto(this.parent.getGsonBackend(), current.getPath(key), Objects.requireNonNull(pojo));
+                this.modifiedPOJOs.remove(key);
+            }
+        });
+    }
+
+    private static boolean isAffected(final @NotNull String pojoKey, final @NotNull Set<@NotNull String> changedKeys) {
+        if (pojoKey.isEmpty()) {
+            return !changedKeys.isEmpty();
+        }
+
+        return changedKeys.stream()
+            .anyMatch(changed -> changed.equals(pojoKey)
+                || changed.startsWith(pojoKey + ConfigMap.PATH_SEPARATOR)
+                || pojoKey.startsWith(changed + ConfigMap.PATH_SEPARATOR));
+    }
+
+    private @NotNull ConfigMap readFile(
+            final @NotNull ConfigReader reader,
+            final @NotNull MessageDigest digest
+    ) throws IOException {
+        final long size = Files.size(this.fileLocation);
+
+        if (MappedFileReader.shouldMap(size)) {
+            try (MappedFileReader input = new MappedFileReader(this.fileLocation, digest)) {
+                final ConfigMap output = reader.read(input);
+
+                input.drainIntoDigest();
+
+                return output;
+            }
+        }
+
+        try (InputStream stream = new DigestInputStream(Files.newInputStream(this.fileLocation), digest)) {
+            final ConfigMap output;
+
+            if (size == 0) {
+                output = new ConfigMap();
+            } else {
+                output = reader.read(new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)));
+            }
+
+            /* Drain whatever the parser didn't need so the fingerprint covers the whole file. */
+            final byte[] buffer = new byte[HCHConfig.DRAIN_BUFFER_SIZE];
+
+            while (stream.read(buffer) != -1) {
+                continue;
+            }
+
+            return output;
+        }
+    }
+
+    /* A dirty tree is serialized into a digest outside of the config's lock, on a snapshot. */
+    public boolean isUnchangedOnDisk(final @NotNull ConfigWriter writer) {
+        final ConfigMap tree;
+        final byte[] expected;
+
+        synchronized (this) {
+            if (this.fingerprint == null || !this.errors.isEmpty() || !Files.exists(this.fileLocation)) {
+                return false;
+            }
+
+            if (!this.config.isModified()) {
+                return true;
+            }
+
+            this.loadAllSections();
+
+            tree = this.config.snapshot();
+            expected = this.fingerprint;
+        }
+
+        final MessageDigest digest = Fingerprints.newDigest();
+
+        try (Writer output = Fingerprints.newDigestWriter(digest)) {
+            writer.write(output, tree);
+        } catch (Exception e) {
+            /* the actual write runs into the same problem and reports it */
+            return false;
+        }
+
+        return MessageDigest.isEqual(expected, digest.digest());
+    }
+
+    /* The only step that touches the POJOs, so it runs on the thread that owns them. */
+    public synchronized @NotNull Map<@NotNull String, @NotNull ConfigMap> capturePOJOSections(
+            final boolean forcePOJOValues
+    ) {
+        final Map<String, ConfigMap> sections = new LinkedHashMap<>();
+
+        this.pojos.forEach((key, pojo) -> {
+            if (forcePOJOValues || this.modifiedPOJOs.contains(key)) {
+                sections.put(key, POJOBinder.writeSection(this.parent.getGsonBackend(), pojo));
+            }
+        });
+
+        /* Only cleared once every section was captured, a failed capture leaves the marks for the next save. */
+        this.modifiedPOJOs.removeAll(sections.keySet());
+
+        return sections;
+    }
+
+    /*
+     * Marks the POJOs of sections that were captured but never made it to disk, so the next save writes them again.
+     */
+    public synchronized void restoreModified(final @NotNull Set<@NotNull String> pojoKeys) {
+        pojoKeys.stream()
+            .filter(this.pojos::containsKey)
+            .forEach(this.modifiedPOJOs::add);
+    }
+
+    public synchronized void applyPOJOSections(final @NotNull Map<@NotNull String, @NotNull ConfigMap> sections) {
+        if (sections.isEmpty()) {
+            return;
+        }
+
+        sections.forEach((key, captured) -> {
+            /* Sections are applied again after a re-read, so the tree must never share their nodes. */
+            final ConfigMap section = ConfigMapperUtils.deepCopy(captured);
+
+            if (key.isEmpty()) {
+                this.config = ConfigMapperUtils.deepMerge(this.config, section);
+            } else {
+                this.config.putPath(
+                    key,
+                    ConfigMapperUtils.deepMerge(ConfigMap.asConfigMap(this.config.getPath(key)), section)
+                );
+            }
+        });
+
+        if (this.config.isModified()) {
+            this.publish();
+        }
     }
 
     public boolean write(final @NotNull ConfigWriter writer, final boolean forcePOJOValues) {
-        if (
-            this.errors.isEmpty()
-                && this.createIfNotExists()
-                && (!forcePOJOValues || this.updateConfigWithPOJOs())
-                && !writer.write(this.fileLocation, ConfigMapperUtils.deflateMap(this.config))
-        ) {
-            this.errors.addAll(writer.getErrors());
+        return this.tryWrite(writer, forcePOJOValues).isSuccessful();
+    }
+
+    public @NotNull ConfigResult<@NotNull HCHConfig> tryWrite(
+            final @NotNull ConfigWriter writer,
+            final boolean forcePOJOValues
+    ) {
+        final long start = System.nanoTime();
+        final Map<String, ConfigMap> sections;
+
+        try {
+            sections = this.capturePOJOSections(forcePOJOValues);
+        } catch (Exception e) {
+            return ConfigResult.failure(e, start);
         }
 
-        return this.errors.isEmpty();
+        final ConfigResult<HCHConfig> result = this.write(writer, sections, start);
+
+        if (!result.isSuccessful()) {
+            this.restoreModified(sections.keySet());
+        }
+
+        return result;
+    }
+
+    public @NotNull ConfigResult<@NotNull HCHConfig> tryWrite(
+            final @NotNull ConfigWriter writer,
+            final @NotNull Map<@NotNull String, @NotNull ConfigMap> sections
+    ) {
+        return this.write(writer, sections, System.nanoTime());
     }
 
-    public void registerPOJOAtPath(
+    private @NotNull ConfigResult<@NotNull HCHConfig> write(
+            final @NotNull ConfigWriter writer,
+            final @NotNull Map<@NotNull String, @NotNull ConfigMap> sections,
+            final long start
+    ) {
+        synchronized (this.saveLock) {
+            final ConfigMap tree;
+
+            synchronized (this) {
+                /* The file is replaced as a whole, so sections that were never read have to be loaded first. */
+                this.loadAllSections();
+
+                if (!this.errors.isEmpty()) {
+                    return ConfigResult.failure(this.getUnreadableException(), start);
+                }
+
+                try {
+                    this.applyPOJOSections(sections);
+                } catch (Exception e) {
+                    return ConfigResult.failure(e, start);
+                }
+
+                tree = this.config.snapshot();
+            }
+
+            return this.writeSnapshot(writer, tree, start);
+        }
+    }
+
+    /* The tree is only marked clean if nothing changed while it was written. */
+    private @NotNull ConfigResult<@NotNull HCHConfig> writeSnapshot(
+            final @NotNull ConfigWriter writer,
+            final @NotNull ConfigMap tree,
+            final long start
+    ) {
+        try {
+            final MessageDigest digest = Fingerprints.newDigest();
+
+            AtomicFileWriter.write(
+                this.fileLocation,
+                this.parent.getDurability(),
+                digest,
+                output -> {
+                    writer.write(output, tree);
+                    return true;
+                }
+            );
+
+            final byte[] writtenFingerprint = digest.digest();
+            final long sampledAt = System.currentTimeMillis();
+            final BasicFileAttributes attributes = this.readAttributes();
+
+            synchronized (this) {
+                this.fingerprint = writtenFingerprint;
+
+                if (this.config.snapshot() == tree) {
+                    this.config.clearModified();
+                }
+
+                this.rememberDiskState(attributes);
+            }
+
+            /* The next start loads what was just saved, so the cache follows the file. */
+            this.cacheParsedTree(tree, writtenFingerprint, attributes, sampledAt);
+
+            return ConfigResult.success(this, start);
+        } catch (Exception e) {
+            return ConfigResult.failure(e, start);
+        }
+    }
+
+    private @NotNull IOException getUnreadableException() {
+        final IOException output = new IOException(
+            String.format("Not saving '%s', it couldn't be read the last time it was loaded.", this.fileLocation)
+        );
+
+        this.errors.forEach(output::addSuppressed);
+
+        return output;
+    }
+
+    /* The file's values and the sections are merged as one change, listeners never see them in between. */
+    public @NotNull ConfigResult<@NotNull HCHConfig> readAndWrite(
+            final @NotNull ConfigReader reader,
+            final @NotNull ConfigWriter writer,
+            final @NotNull Map<@NotNull String, @NotNull ConfigMap> sections
+    ) {
+        final long start = System.nanoTime();
+
+        synchronized (this.saveLock) {
+            final BasicFileAttributes attributes;
+            final MessageDigest digest = Fingerprints.newDigest();
+            final ConfigMap parsed;
+
+            try {
+                this.createFileIfMissing();
+                attributes = this.readAttributes();
+                parsed = this.readFile(reader, digest);
+            } catch (Exception e) {
+                this.errors.add(e);
+                return ConfigResult.failure(e, start);
+            }
+
+            final ConfigMap tree;
+
+            synchronized (this) {
+                this.publishDeferred = true;
+
+                try {
+                    this.mergeFromFile(parsed, digest.digest());
+                    this.rememberDiskState(attributes);
+                    this.errors.clear();
+                    this.applyPOJOSections(sections);
+                } catch (Exception e) {
+                    return ConfigResult.failure(e, start);
+                } finally {
+                    this.publishDeferred = false;
+                    this.publish();
+                }
+
+                tree = this.config.snapshot();
+            }
+
+            return this.writeSnapshot(writer, tree, start);
+        }
+    }
+
+    /* Captured and queued under the lock, so saves apply POJO state in capture order without running under it. */
+    public <T> @NotNull CompletableFuture<T> enqueueSave(
+            final boolean forcePOJOValues,
+            final @NotNull Function<@NotNull Map<@NotNull String, @NotNull ConfigMap>, T> save,
+            final @NotNull Executor executor
+    ) {
+        final CompletableFuture<Void> queued = new CompletableFuture<>();
+        final CompletableFuture<T> next;
+
+        synchronized (this) {
+            final Map<String, ConfigMap> sections = this.capturePOJOSections(forcePOJOValues);
+
+            next = this.pendingSave
+                .handle((ignored, throwable) -> null)
+                .thenCombine(queued, (ignored, alsoIgnored) -> null)
+                .thenApplyAsync(ignored -> save.apply(sections), executor);
+
+            this.pendingSave = next;
+        }
+
+        queued.complete(null);
+
+        return next;
+    }
+
+    public synchronized void registerPOJOAtPath(
             final @NotNull String key,
             final @NotNull Object pojo
     ) {
@@ -136,6 +749,31 @@ public class HCHConfig implements ErrorHolder {
         this.pojos.put(key, pojo);
     }
 
+    public synchronized void markModified(final @NotNull String pojoKey) {
+        if (!this.pojos.containsKey(pojoKey)) {
+            throw new InvalidPojoException(
+                    String.format(
+                        "No pojo registered at path '%s'.",
+                        pojoKey
+                    )
+            );
+        }
+
+        this.modifiedPOJOs.add(pojoKey);
+    }
+
+    public synchronized @NotNull Optional<@NotNull String> getPOJOKey(final @NotNull Object pojo) {
+        return this.pojos.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() == pojo)
+            .map(Map.Entry::getKey)
+            .findFirst();
+    }
+
+    public synchronized boolean isModified() {
+        return !this.modifiedPOJOs.isEmpty() || this.config.isModified();
+    }
+
     public @NotNull Path getFileLocation() {
         return this.fileLocation;
     }
@@ -1,52 +1,89 @@
 package com.heretere.hch.core;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.heretere.hch.core.annotation.ConfigFile;
-import com.heretere.hch.core.annotation.POJOKey;
+import com.heretere.hch.core.backend.ConfigResult;
 import com.heretere.hch.core.backend.ErrorHolder;
+import com.heretere.hch.core.backend.binder.BindingPlan;
+import com.heretere.hch.core.backend.binder.POJOBinder;
+import com.heretere.hch.core.backend.binder.SerializationContext;
 import com.heretere.hch.core.backend.config.ConfigAdapter;
 import com.heretere.hch.core.backend.config.ConfigReader;
 import com.heretere.hch.core.backend.config.ConfigWriter;
+import com.heretere.hch.core.backend.io.Durability;
+import com.heretere.hch.core.backend.io.SnapshotCache;
+import com.heretere.hch.core.backend.map.ConfigMap;
 import com.heretere.hch.core.backend.util.ConfigMapperUtils;
+import com.heretere.hch.core.backend.watch.ConfigChangeListener;
+import com.heretere.hch.core.backend.watch.ConfigWatcher;
 import com.heretere.hch.core.exception.InvalidFileExtensionException;
 import com.heretere.hch.core.exception.InvalidPojoException;
 
 public class MultiConfigHandler implements ErrorHolder {
+    private static final Logger LOGGER = Logger.getLogger(MultiConfigHandler.class.getName());
+    private static final int IO_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private static final long IO_THREAD_KEEP_ALIVE_SECONDS = 30L;
+    private static final int IO_QUEUE_CAPACITY = 256;
+    private static final long DEFAULT_WATCH_DEBOUNCE_MILLIS = 200L;
+
     private final @NotNull Path basePath;
     private final @NotNull Map<@NotNull String, @NotNull ConfigReader> readers;
     private final @NotNull Map<@NotNull String, @NotNull ConfigWriter> writers;
     private final @NotNull Map<@NotNull Path, @NotNull HCHConfig> configs;
     private final @NotNull Set<@NotNull Throwable> errors;
-    private final @NotNull GsonBuilder gsonBuilder;
-    private @NotNull Gson gson;
+    private final @NotNull List<@NotNull ConfigChangeListener> changeListeners;
+    private final @NotNull Map<@NotNull Class<?>, @NotNull Object> stagedAdapters;
+    private final @NotNull AtomicLong skippedSaves;
+    private final @NotNull AtomicLong skippedReads;
+    /* null while adapters registered since the last build are still staged */
+    private volatile @Nullable SerializationContext serializationContext;
+    private volatile @NotNull Durability durability;
+    private volatile @Nullable Executor ioExecutor;
+    private volatile @Nullable SnapshotCache snapshotCache;
+    private volatile boolean lazyLoading;
+    private volatile boolean trackFileChanges;
+    private @Nullable ConfigWatcher watcher;
 
     public MultiConfigHandler(final @NotNull Path basePath) {
-        this.gsonBuilder =
-            new GsonBuilder()
-                .setPrettyPrinting();
-
-        this.gson = this.gsonBuilder.create();
+        this.stagedAdapters = new LinkedHashMap<>();
+        this.serializationContext = SerializationContext.defaults();
 
         this.basePath = basePath;
 
-        this.readers = new HashMap<>();
-        this.writers = new HashMap<>();
+        this.readers = new ConcurrentHashMap<>();
+        this.writers = new ConcurrentHashMap<>();
+
+        this.configs = new ConcurrentHashMap<>();
 
-        this.configs = new HashMap<>();
+        this.errors = ConcurrentHashMap.newKeySet();
+        this.changeListeners = new CopyOnWriteArrayList<>();
 
-        this.errors = new HashSet<>();
+        this.skippedSaves = new AtomicLong();
+        this.skippedReads = new AtomicLong();
+        this.durability = Durability.SYNC_FILE;
     }
 
     private static String getExtensionFromFileName(final @NotNull String name) {
@@ -69,99 +106,389 @@ public class MultiConfigHandler implements ErrorHolder {
             final @NotNull String pojoPath,
             final @NotNull Class<T> clazz
     ) {
-        final HCHConfig config = this.getOrGenerateConfigByRelativePath(relativePath);
+        return this.record(this.tryLoadPOJOClassAtPath(relativePath, pojoPath, clazz)).getValue();
+    }
+
+    /* Like loadPOJOClassAtPath, but the errors are only returned, not added to getErrors. */
+    public <T> @NotNull ConfigResult<@NotNull T> tryLoadPOJOClassAtPath(
+            final @NotNull String relativePath,
+            final @NotNull String pojoPath,
+            final @NotNull Class<T> clazz
+    ) {
+        final long start = System.nanoTime();
 
         try {
-            final ConfigReader reader = this.getReaderByFileName(config.getFileLocation().getFileName().toString());
+            final HCHConfig config = this.getOrGenerateConfigByRelativePath(relativePath);
+            final ConfigResult<HCHConfig> read = this.readConfig(config);
 
-            if (!config.read(reader)) {
-                this.errors.addAll(config.getErrors());
+            if (!read.isSuccessful()) {
+                return ConfigResult.failure(read.getErrors(), start);
             }
 
-            final AtomicReference<@NotNull String> path = new AtomicReference<>(pojoPath);
-
-            Optional.ofNullable(clazz.getAnnotation(POJOKey.class))
-                .ifPresent(annotation -> path.set(annotation.value()));
-
-            final Object value = config.get(path.get())
-                .orElseThrow(
-                    () -> new InvalidPojoException(
-                            String.format(
-                                "No value found at pojo key '%s' for class '%s'.",
-                                path,
-                                clazz.getName()
-                            )
-                    )
-                );
+            return ConfigResult.success(this.bindPOJO(config, pojoPath, clazz), start);
+        } catch (Exception e) {
+            return ConfigResult.failure(e, start);
+        }
+    }
 
-            final T pojo = this.gson.fromJson(this.gson.toJson(value), clazz);
+    public <T> @NotNull ConfigResult<@NotNull T> tryLoadPOJOClass(final @NotNull Class<T> clazz) {
+        final long start = System.nanoTime();
 
-            if (pojo != null) {
-                config.registerPOJOAtPath(path.get(), pojo);
-                return Optional.of(pojo);
-            }
+        try {
+            return this.tryLoadPOJOClassAtPath(MultiConfigHandler.getConfigFile(clazz), "", clazz);
         } catch (Exception e) {
-            this.errors.add(e);
+            return ConfigResult.failure(e, start);
         }
+    }
 
-        return Optional.empty();
+    private @NotNull ConfigResult<@NotNull HCHConfig> readConfig(final @NotNull HCHConfig config) {
+        return config.tryRead(this.getReaderByFileName(config.getFileLocation().getFileName().toString()));
     }
 
-    public <T> @NotNull Optional<@NotNull T> loadPOJOClass(final @NotNull Class<T> clazz) {
-        if (!clazz.isAnnotationPresent(ConfigFile.class)) {
+    private <T> @NotNull ConfigResult<T> record(final @NotNull ConfigResult<T> result) {
+        this.errors.addAll(result.getErrors());
+        return result;
+    }
+
+    private <T> @NotNull T bindPOJO(
+            final @NotNull HCHConfig config,
+            final @NotNull String pojoPath,
+            final @NotNull Class<T> clazz
+    ) {
+        final String path = BindingPlan.of(clazz).getPOJOKey().orElse(pojoPath);
+
+        final Object value = config.get(path)
+            .orElseThrow(
+                () -> new InvalidPojoException(
+                        String.format(
+                            "No value found at pojo key '%s' for class '%s'.",
+                            path,
+                            clazz.getName()
+                        )
+                )
+            );
+
+        final T pojo = POJOBinder.read(this.getGsonBackend(), value, clazz);
+
+        if (pojo == null) {
             throw new InvalidPojoException(
                     String.format(
-                        "Class '%s' doesn't define a ConfigFile annotation. Please add one.",
+                        "Value at pojo key '%s' bound to null for class '%s'.",
+                        path,
                         clazz.getName()
                     )
             );
         }
 
-        return this.loadPOJOClassAtPath(clazz.getAnnotation(ConfigFile.class).value(), "", clazz);
+        config.registerPOJOAtPath(path, pojo);
+
+        return pojo;
+    }
+
+    public <T> @NotNull Optional<@NotNull T> loadPOJOClass(final @NotNull Class<T> clazz) {
+        return this.loadPOJOClassAtPath(MultiConfigHandler.getConfigFile(clazz), "", clazz);
+    }
+
+    private static @NotNull String getConfigFile(final @NotNull Class<?> clazz) {
+        return BindingPlan.of(clazz)
+            .getConfigFile()
+            .orElseThrow(
+                () -> new InvalidPojoException(
+                        String.format(
+                            "Class '%s' doesn't define a ConfigFile annotation. Please add one.",
+                            clazz.getName()
+                        )
+                )
+            );
+    }
+
+    public <T> @NotNull CompletableFuture<@NotNull Optional<@NotNull T>> loadPOJOClassAtPathAsync(
+            final @NotNull String relativePath,
+            final @NotNull String pojoPath,
+            final @NotNull Class<T> clazz
+    ) {
+        return CompletableFuture.supplyAsync(
+            () -> this.loadPOJOClassAtPath(relativePath, pojoPath, clazz),
+            this.getIOExecutor()
+        );
+    }
+
+    public <T> @NotNull CompletableFuture<@NotNull Optional<@NotNull T>> loadPOJOClassAsync(
+            final @NotNull Class<T> clazz
+    ) {
+        return CompletableFuture.supplyAsync(() -> this.loadPOJOClass(clazz), this.getIOExecutor());
+    }
+
+    public @NotNull Map<@NotNull Class<?>, @NotNull Object> loadPOJOClasses(
+            final @NotNull Class<?> @NotNull... classes
+    ) {
+        return this.loadPOJOClassesAsync(classes).join();
+    }
+
+    /*
+     * Every distinct config file is read and parsed once, in parallel on the I/O executor, and then bound to all
+     * classes that point at it. Classes that fail to load are missing from the result and have their error recorded.
+     */
+    public @NotNull CompletableFuture<@NotNull Map<@NotNull Class<?>, @NotNull Object>> loadPOJOClassesAsync(
+            final @NotNull Class<?> @NotNull... classes
+    ) {
+        final Map<String, List<Class<?>>> classesByFile = new LinkedHashMap<>();
+
+        for (final Class<?> clazz : classes) {
+            classesByFile.computeIfAbsent(MultiConfigHandler.getConfigFile(clazz), file -> new ArrayList<>())
+                .add(clazz);
+        }
+
+        final Map<Class<?>, Object> loaded = new ConcurrentHashMap<>();
+        final CompletableFuture<?>[] loads = classesByFile.entrySet()
+            .stream()
+            .map(entry -> CompletableFuture.runAsync(
+                () -> this.loadConfigFile(entry.getKey(), entry.getValue(), loaded),
+                this.getIOExecutor()
+            ))
+            .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(loads).thenApply(ignored -> loaded);
+    }
+
+    private void loadConfigFile(
+            final @NotNull String relativePath,
+            final @NotNull List<@NotNull Class<?>> classes,
+            final @NotNull Map<@NotNull Class<?>, @NotNull Object> loaded
+    ) {
+        final HCHConfig config;
+
+        try {
+            config = this.getOrGenerateConfigByRelativePath(relativePath);
+
+            if (!this.record(this.readConfig(config)).isSuccessful()) {
+                return;
+            }
+        } catch (Exception e) {
+            this.errors.add(e);
+            return;
+        }
+
+        classes.forEach(clazz -> {
+            try {
+                loaded.put(clazz, this.bindPOJO(config, "", clazz));
+            } catch (Exception e) {
+                this.errors.add(e);
+            }
+        });
     }
 
     public boolean saveConfig(final @NotNull HCHConfig config, final boolean forcePOJOValues) {
-        if (!this.errors.isEmpty()) {
-            return false;
+        return this.record(this.trySaveConfig(config, forcePOJOValues)).isSuccessful();
+    }
+
+    /* Runs inline unless an async save of the same file is still pending. */
+    public @NotNull ConfigResult<@NotNull HCHConfig> trySaveConfig(
+            final @NotNull HCHConfig config,
+            final boolean forcePOJOValues
+    ) {
+        return this.trySaveConfig(config, forcePOJOValues, Runnable::run).join();
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> saveConfigAsync(
+            final @NotNull HCHConfig config,
+            final boolean forcePOJOValues
+    ) {
+        return this.trySaveConfigAsync(config, forcePOJOValues).thenApply(result -> this.record(result).isSuccessful());
+    }
+
+    /* POJOs are serialized on the calling thread, the file work runs on the I/O executor. */
+    public @NotNull CompletableFuture<@NotNull ConfigResult<@NotNull HCHConfig>> trySaveConfigAsync(
+            final @NotNull HCHConfig config,
+            final boolean forcePOJOValues
+    ) {
+        return this.trySaveConfig(config, forcePOJOValues, this.getIOExecutor());
+    }
+
+    private @NotNull CompletableFuture<@NotNull ConfigResult<@NotNull HCHConfig>> trySaveConfig(
+            final @NotNull HCHConfig config,
+            final boolean forcePOJOValues,
+            final @NotNull Executor executor
+    ) {
+        final long start = System.nanoTime();
+
+        try {
+            return this.enqueueSave(config, forcePOJOValues, executor);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ConfigResult.failure(e, start));
+        }
+    }
+
+    private @NotNull CompletableFuture<@NotNull ConfigResult<@NotNull HCHConfig>> enqueueSave(
+            final @NotNull HCHConfig config,
+            final boolean forcePOJOValues,
+            final @NotNull Executor executor
+    ) {
+        return config.enqueueSave(
+            forcePOJOValues,
+            sections -> {
+                final ConfigResult<HCHConfig> result = this.saveCapturedConfig(config, sections);
+
+                if (!result.isSuccessful()) {
+                    config.restoreModified(sections.keySet());
+                }
+
+                return result;
+            },
+            executor
+        );
+    }
+
+    /* Each step takes the config's lock only while it touches the tree. */
+    private @NotNull ConfigResult<@NotNull HCHConfig> saveCapturedConfig(
+            final @NotNull HCHConfig config,
+            final @NotNull Map<@NotNull String, @NotNull ConfigMap> sections
+    ) {
+        final long start = System.nanoTime();
+
+        try {
+            final String fileName = config.getFileLocation().getFileName().toString();
+            final ConfigWriter writer = this.getWriterByFileName(fileName);
+
+            if (config.getErrors().isEmpty()) {
+                config.applyPOJOSections(sections);
+
+                if (config.isUnchangedOnDisk(writer)) {
+                    this.skippedSaves.incrementAndGet();
+                    return ConfigResult.success(config, start);
+                }
+
+                /* Re-reading a file nobody touched would only merge in the tree the config already holds. */
+                if (this.trackFileChanges && config.isUntouchedOnDisk()) {
+                    this.skippedReads.incrementAndGet();
+                    return config.tryWrite(writer, Collections.emptyMap());
+                }
+            }
+
+            return config.readAndWrite(this.getReaderByFileName(fileName), writer, sections);
+        } catch (Exception e) {
+            return ConfigResult.failure(e, start);
         }
+    }
 
-        final String fileName = config.getFileLocation().getFileName().toString();
+    /*
+     * Flags a loaded POJO so the next save writes it back even when POJO values aren't forced.
+     */
+    public boolean markModified(final @NotNull Object pojo) {
+        for (final HCHConfig config : this.configs.values()) {
+            final Optional<String> key = config.getPOJOKey(pojo);
 
-        if (
-            !config.read(this.getReaderByFileName(fileName))
-                || !config.write(this.getWriterByFileName(fileName), forcePOJOValues)
-        ) {
-            this.errors.addAll(config.getErrors());
-            return false;
+            if (key.isPresent()) {
+                config.markModified(key.get());
+                return true;
+            }
         }
 
-        return true;
+        return false;
     }
 
+    /* Every config is saved even if some of them fail. */
     public boolean saveAllConfigs(final boolean forcePOJOValues) {
-        if (this.errors.isEmpty()) {
-            this.configs
-                .values()
-                .forEach(config -> this.saveConfig(config, forcePOJOValues));
+        boolean saved = true;
+
+        for (final HCHConfig config : this.configs.values()) {
+            saved &= this.saveConfig(config, forcePOJOValues);
         }
 
-        return this.errors.isEmpty();
+        return saved;
     }
 
-    private HCHConfig getOrGenerateConfigByRelativePath(final @NotNull String relativePath) {
-        final HCHConfig output;
-        final Path path = this.basePath.resolve(relativePath);
+    public @NotNull Map<@NotNull Path, @NotNull ConfigResult<@NotNull HCHConfig>> trySaveAllConfigs(
+            final boolean forcePOJOValues
+    ) {
+        final Map<Path, ConfigResult<HCHConfig>> output = new LinkedHashMap<>();
+
+        this.configs.forEach((path, config) -> output.put(path, this.trySaveConfig(config, forcePOJOValues)));
+
+        return output;
+    }
+
+    public @NotNull CompletableFuture<@NotNull Boolean> saveAllConfigsAsync(final boolean forcePOJOValues) {
+        final List<CompletableFuture<Boolean>> saves = new ArrayList<>();
+
+        this.configs.values().forEach(config -> saves.add(this.saveConfigAsync(config, forcePOJOValues)));
+
+        return CompletableFuture.allOf(saves.toArray(new CompletableFuture<?>[0]))
+            .thenApply(ignored -> saves.stream().allMatch(CompletableFuture::join));
+    }
+
+    public MultiConfigHandler addChangeListener(final @NotNull ConfigChangeListener listener) {
+        this.changeListeners.add(listener);
+        return this;
+    }
+
+    public MultiConfigHandler removeChangeListener(final @NotNull ConfigChangeListener listener) {
+        this.changeListeners.remove(listener);
+        return this;
+    }
 
-        final Optional<HCHConfig> optionalConfig = this.getConfigByPath(path);
+    /* Keys deleted from the file keep their value and aren't reported as changed. */
+    public @NotNull Set<@NotNull String> reloadConfig(final @NotNull HCHConfig config) throws IOException {
+        final Set<String> changed = config.reload(
+            this.getReaderByFileName(config.getFileLocation().getFileName().toString())
+        );
 
-        if (optionalConfig.isPresent()) {
-            output = optionalConfig.get();
-        } else {
-            output = new HCHConfig(this, path);
-            this.configs.put(path, output);
+        if (!changed.isEmpty()) {
+            config.rebindPOJOs(changed);
+            this.changeListeners.forEach(listener -> listener.onChange(config, changed));
         }
 
-        return output;
+        return changed;
+    }
+
+    public boolean startWatching(final @NotNull Executor executor) {
+        return this.startWatching(MultiConfigHandler.DEFAULT_WATCH_DEBOUNCE_MILLIS, executor);
+    }
+
+    /* Reloads and listeners run on the executor, which should be the thread that owns the POJOs. */
+    public synchronized boolean startWatching(final long debounceMillis, final @NotNull Executor executor) {
+        if (this.watcher == null) {
+            try {
+                final ConfigWatcher configWatcher = new ConfigWatcher(
+                    this.basePath,
+                    debounceMillis,
+                    path -> this.getConfigByPath(path).ifPresent(config -> executor.execute(() -> {
+                        try {
+                            this.reloadConfig(config);
+                        } catch (Exception e) {
+                            MultiConfigHandler.LOGGER.log(
+                                Level.WARNING,
+                                String.format("Couldn't reload '%s'.", config.getFileLocation()),
+                                e
+                            );
+                        }
+                    }))
+                );
+
+                configWatcher.start();
+                this.watcher = configWatcher;
+            } catch (IOException e) {
+                this.errors.add(e);
+            }
+        }
+
+        return this.watcher != null;
+    }
+
+    public synchronized void stopWatching() {
+        if (this.watcher != null) {
+            try {
+                this.watcher.close();
+            } catch (IOException e) {
+                this.errors.add(e);
+            }
+
+            this.watcher = null;
+        }
+    }
+
+    private HCHConfig getOrGenerateConfigByRelativePath(final @NotNull String relativePath) {
+        return this.configs.computeIfAbsent(this.basePath.resolve(relativePath), path -> new HCHConfig(this, path));
     }
 
     private @NotNull ConfigReader getReaderByFileName(final @NotNull String name) {
@@ -226,22 +553,150 @@ public class MultiConfigHandler implements ErrorHolder {
         return this;
     }
 
-    public MultiConfigHandler registerTypeAdapter(final @NotNull Class<?> type, final @NotNull Object adapter) {
-        this.gsonBuilder.registerTypeAdapter(type, adapter);
-        this.gson = this.gsonBuilder.create();
+    /* Staged, the serialization context is only rebuilt the next time it's used. */
+    public synchronized MultiConfigHandler registerTypeAdapter(
+            final @NotNull Class<?> type,
+            final @NotNull Object adapter
+    ) {
+        this.stagedAdapters.remove(type);
+        this.stagedAdapters.put(type, adapter);
+        this.serializationContext = null;
+        return this;
+    }
+
+    public synchronized MultiConfigHandler registerTypeAdapters(
+            final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters
+    ) {
+        adapters.forEach(this::registerTypeAdapter);
+        return this;
+    }
+
+    public synchronized MultiConfigHandler setSerializationContext(final @NotNull SerializationContext context) {
+        this.stagedAdapters.clear();
+        this.stagedAdapters.putAll(context.getAdapters());
+        this.serializationContext = context;
+        return this;
+    }
+
+    public @NotNull SerializationContext getSerializationContext() {
+        final SerializationContext context = this.serializationContext;
+
+        if (context != null) {
+            return context;
+        }
+
+        synchronized (this) {
+            SerializationContext built = this.serializationContext;
+
+            if (built == null) {
+                built = SerializationContext.builder().registerTypeAdapters(this.stagedAdapters).build();
+                this.serializationContext = built;
+            }
+
+            return built;
+        }
+    }
+
+    /* Replacing the executor doesn't shut down the previous one. */
+    public MultiConfigHandler setIOExecutor(final @NotNull Executor ioExecutor) {
+        this.ioExecutor = ioExecutor;
+        return this;
+    }
+
+    public @NotNull Executor getIOExecutor() {
+        Executor executor = this.ioExecutor;
+
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.ioExecutor;
+
+                if (executor == null) {
+                    executor = MultiConfigHandler.createDefaultIOExecutor();
+                    this.ioExecutor = executor;
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    private static @NotNull Executor createDefaultIOExecutor() {
+        final AtomicInteger threads = new AtomicInteger();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            MultiConfigHandler.IO_THREADS,
+            MultiConfigHandler.IO_THREADS,
+            MultiConfigHandler.IO_THREAD_KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(MultiConfigHandler.IO_QUEUE_CAPACITY),
+            runnable -> {
+                final Thread thread = new Thread(runnable, "hch-io-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            /* a full queue slows down whoever is submitting instead of growing without limit */
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+
+        executor.allowCoreThreadTimeOut(true);
+
+        return executor;
+    }
+
+    public MultiConfigHandler setDurability(final @NotNull Durability durability) {
+        this.durability = durability;
+        return this;
+    }
+
+    public @NotNull Durability getDurability() {
+        return this.durability;
+    }
+
+    /* Formats that can't index sections and files that can't be split safely are still read eagerly. */
+    public MultiConfigHandler setLazyLoading(final boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+        return this;
+    }
+
+    public boolean isLazyLoading() {
+        return this.lazyLoading;
+    }
+
+    public MultiConfigHandler setSnapshotCacheDirectory(final @Nullable Path directory) {
+        this.snapshotCache = directory == null ? null : new SnapshotCache(directory, this.basePath);
         return this;
     }
 
-    public MultiConfigHandler registerTypeAdapters(final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters) {
-        adapters.forEach(this.gsonBuilder::registerTypeAdapter);
-        this.gson = this.gsonBuilder.create();
+    public @NotNull Optional<@NotNull SnapshotCache> getSnapshotCache() {
+        return Optional.ofNullable(this.snapshotCache);
+    }
+
+    /*
+     * Number of saves that were skipped because the serialized config matched the file on disk.
+     */
+    public long getSkippedSaveCount() {
+        return this.skippedSaves.get();
+    }
+
+    /* Saves only re-read files whose size or time changed, which can miss quick same-size edits. */
+    public MultiConfigHandler setTrackFileChanges(final boolean trackFileChanges) {
+        this.trackFileChanges = trackFileChanges;
         return this;
     }
 
+    public boolean isTrackingFileChanges() {
+        return this.trackFileChanges;
+    }
+
+    /* Saves that wrote the file without re-reading it first. */
+    public long getSkippedReadCount() {
+        return this.skippedReads.get();
+    }
+
     public @NotNull Gson getGsonBackend() {
-        return this.gson;
+        return this.getSerializationContext().getGson();
     }
 
+    /* Errors from the methods that don't return a ConfigResult, nothing checks them before doing work. */
     @Override
     public @NotNull Set<@NotNull Throwable> getErrors() {
         return Collections.unmodifiableSet(this.errors);
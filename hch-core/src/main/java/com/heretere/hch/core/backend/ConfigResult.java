@@ -0,0 +1,85 @@
+package com.heretere.hch.core.backend;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/* Errors belong to the operation that returned them, a failed result doesn't affect later calls. */
+public final class ConfigResult<T> implements ErrorHolder {
+    private final @Nullable T value;
+    private final @NotNull Set<@NotNull Throwable> errors;
+    private final long durationNanos;
+
+    private ConfigResult(
+            final @Nullable T value,
+            final @NotNull Set<@NotNull Throwable> errors,
+            final long durationNanos
+    ) {
+        this.value = value;
+        this.errors = errors;
+        this.durationNanos = durationNanos;
+    }
+
+    /* startNanos is the System.nanoTime() taken when the operation started. */
+    public static <T> @NotNull ConfigResult<T> success(final @NotNull T value, final long startNanos) {
+        return new ConfigResult<>(value, Collections.emptySet(), System.nanoTime() - startNanos);
+    }
+
+    public static <T> @NotNull ConfigResult<T> failure(
+            final @NotNull Collection<? extends @NotNull Throwable> errors,
+            final long startNanos
+    ) {
+        return new ConfigResult<>(
+            null,
+            Collections.unmodifiableSet(new LinkedHashSet<>(errors)),
+            System.nanoTime() - startNanos
+        );
+    }
+
+    public static <T> @NotNull ConfigResult<T> failure(final @NotNull Throwable error, final long startNanos) {
+        return ConfigResult.failure(Collections.singleton(error), startNanos);
+    }
+
+    public @NotNull Optional<@NotNull T> getValue() {
+        return Optional.ofNullable(this.value);
+    }
+
+    public boolean isSuccessful() {
+        return this.errors.isEmpty();
+    }
+
+    public @NotNull Duration getDuration() {
+        return Duration.ofNanos(this.durationNanos);
+    }
+
+    /* The mapper only runs for successful results. */
+    public <U> @NotNull ConfigResult<U> map(final @NotNull Function<? super T, ? extends U> mapper) {
+        return new ConfigResult<>(
+            this.value == null ? null : mapper.apply(this.value),
+            this.errors,
+            this.durationNanos
+        );
+    }
+
+    @Override
+    public @NotNull Set<@NotNull Throwable> getErrors() {
+        return this.errors;
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return String.format(
+            "ConfigResult{value=%s, errors=%s, duration=%s}",
+            this.value,
+            this.errors,
+            this.getDuration()
+        );
+    }
+}
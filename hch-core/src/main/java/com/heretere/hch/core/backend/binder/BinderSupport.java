@@ -0,0 +1,92 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.heretere.hch.core.exception.InvalidPojoException;
+
+/* Accepts the same values Gson's built in adapters do, so a class reads the same with or without a binder. */
+public final class BinderSupport {
+    private BinderSupport() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    public static int toInt(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "int").intValue();
+    }
+
+    public static long toLong(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "long").longValue();
+    }
+
+    public static short toShort(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "short").shortValue();
+    }
+
+    public static byte toByte(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "byte").byteValue();
+    }
+
+    public static double toDouble(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "double").doubleValue();
+    }
+
+    public static float toFloat(final @NotNull Object value) {
+        return BinderSupport.toNumber(value, "float").floatValue();
+    }
+
+    public static boolean toBoolean(final @NotNull Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+
+        return Boolean.parseBoolean(value.toString());
+    }
+
+    public static char toChar(final @NotNull Object value) {
+        final String string = value.toString();
+
+        if (string.length() != 1) {
+            throw new InvalidPojoException(String.format("Expected a single character but was '%s'.", string));
+        }
+
+        return string.charAt(0);
+    }
+
+    public static @Nullable String toString(final @Nullable Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /* Fallback for field types the processor can't bind, so custom type adapters still apply. */
+    public static <T> @Nullable T read(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Type type
+    ) {
+        return POJOBinder.read(gson, value, type);
+    }
+
+    public static @Nullable Object write(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Type type
+    ) {
+        return POJOBinder.write(gson, value, type);
+    }
+
+    private static @NotNull Number toNumber(final @NotNull Object value, final @NotNull String type) {
+        if (value instanceof Number) {
+            return (Number) value;
+        }
+
+        try {
+            return new BigDecimal(value.toString().trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidPojoException(String.format("Expected %s but was '%s'.", type, value), e);
+        }
+    }
+}
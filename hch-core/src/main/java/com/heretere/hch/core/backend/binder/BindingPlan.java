@@ -0,0 +1,380 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.internal.Excluder;
+import com.google.gson.internal.bind.ReflectiveTypeAdapterFactory;
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.annotation.POJOKey;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.InvalidPojoException;
+
+public final class BindingPlan {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    @SuppressWarnings("unchecked")
+    private static final Class<GeneratedBinder<?>> BINDER_SERVICE =
+        (Class<GeneratedBinder<?>>) (Class<?>) GeneratedBinder.class;
+
+    private static final ClassValue<BindingPlan> PLANS = new ClassValue<BindingPlan>() {
+        @Override
+        protected BindingPlan computeValue(final @NotNull Class<?> type) {
+            return new BindingPlan(type);
+        }
+    };
+
+    private final @NotNull Class<?> type;
+    private final @Nullable String pojoKey;
+    private final @Nullable String configFile;
+    /* classes from other modules can't always be opened, so built on first use */
+    private volatile @Nullable List<@NotNull FieldAccessor> fields;
+    private volatile @Nullable FieldBinding binding;
+    private final @Nullable GeneratedBinder<?> binder;
+
+    private BindingPlan(final @NotNull Class<?> type) {
+        this.type = type;
+        this.pojoKey = type.isAnnotationPresent(POJOKey.class) ? type.getAnnotation(POJOKey.class).value() : null;
+        this.configFile = type.isAnnotationPresent(ConfigFile.class)
+            ? type.getAnnotation(ConfigFile.class).value()
+            : null;
+        this.binder = BindingPlan.isPOJOType(type) ? BindingPlan.findBinder(type) : null;
+    }
+
+    public static @NotNull BindingPlan of(final @NotNull Class<?> type) {
+        return BindingPlan.PLANS.get(type);
+    }
+
+    public static boolean isPOJOType(final @NotNull Class<?> type) {
+        return type.isAnnotationPresent(ConfigFile.class) || type.isAnnotationPresent(POJOKey.class);
+    }
+
+    private static @NotNull List<@NotNull FieldAccessor> createAccessors(final @NotNull Class<?> type) {
+        final List<FieldAccessor> output = new ArrayList<>();
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+
+                try {
+                    field.setAccessible(true);
+                    output.add(new FieldAccessor(
+                        field,
+                        lookup.unreflectGetter(field).asType(BindingPlan.GETTER_TYPE),
+                        lookup.unreflectSetter(field).asType(BindingPlan.SETTER_TYPE)
+                    ));
+                } catch (IllegalAccessException | RuntimeException e) {
+                    throw new InvalidPojoException(
+                            String.format(
+                                "Couldn't access field '%s' of pojo type '%s'.",
+                                field.getName(),
+                                type.getName()
+                            ),
+                            e
+                    );
+                }
+            }
+        }
+
+        return output;
+    }
+
+    /* Looked up through the POJO's class loader, so each plugin only sees the binders it shipped. */
+    private static @Nullable GeneratedBinder<?> findBinder(final @NotNull Class<?> type) {
+        final Iterator<GeneratedBinder<?>> iterator =
+            ServiceLoader.load(BindingPlan.BINDER_SERVICE, type.getClassLoader()).iterator();
+
+        while (true) {
+            try {
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+
+                final GeneratedBinder<?> binder = iterator.next();
+
+                if (binder.getType() == type) {
+                    return binder;
+                }
+            } catch (ServiceConfigurationError ignored) {
+                /* skip the entry, the iterator moves on to the next provider */
+            }
+        }
+    }
+
+    public @NotNull Class<?> getType() {
+        return this.type;
+    }
+
+    public @NotNull Optional<@NotNull String> getPOJOKey() {
+        return Optional.ofNullable(this.pojoKey);
+    }
+
+    public @NotNull Optional<@NotNull String> getConfigFile() {
+        return Optional.ofNullable(this.configFile);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> @NotNull Optional<@NotNull GeneratedBinder<T>> getBinder() {
+        return Optional.ofNullable((GeneratedBinder<T>) this.binder);
+    }
+
+    private @NotNull List<@NotNull FieldAccessor> getAccessors() {
+        List<FieldAccessor> accessors = this.fields;
+
+        if (accessors == null) {
+            accessors = Collections.unmodifiableList(BindingPlan.createAccessors(this.type));
+            this.fields = accessors;
+        }
+
+        return accessors;
+    }
+
+    private @NotNull FieldBinding getBinding() {
+        FieldBinding fieldBinding = this.binding;
+
+        if (fieldBinding == null) {
+            fieldBinding = this.createBinding();
+            this.binding = fieldBinding;
+        }
+
+        return fieldBinding;
+    }
+
+    /*
+     * Fields are only bound through the handles where Gson would use its reflective adapter with default exclusion
+     * and naming, anything else is left to Gson so custom adapters and settings still apply.
+     */
+    public boolean canBindFields(final @NotNull Gson gson) {
+        return gson.excluder() == Excluder.DEFAULT
+            && gson.fieldNamingStrategy() == FieldNamingPolicy.IDENTITY
+            && this.getBinding().constructor != null
+            && gson.getAdapter(this.type) instanceof ReflectiveTypeAdapterFactory.Adapter;
+    }
+
+    public @NotNull Object readFields(final @NotNull Gson gson, final @NotNull ConfigMap section) {
+        final FieldBinding fieldBinding = this.getBinding();
+        final Object pojo;
+
+        try {
+            pojo = Objects.requireNonNull(fieldBinding.constructor).invokeExact();
+        } catch (Throwable throwable) {
+            throw new InvalidPojoException(
+                    String.format("Couldn't create pojo of type '%s'.", this.type.getName()),
+                    throwable
+            );
+        }
+
+        section.forEach((name, value) -> {
+            final FieldAccessor field = fieldBinding.byName.get(name);
+
+            if (field == null) {
+                return;
+            }
+
+            final Object fieldValue = POJOBinder.read(gson, value, field.field.getGenericType());
+
+            if (fieldValue != null || !field.field.getType().isPrimitive()) {
+                this.invokeSetter(field, pojo, fieldValue);
+            }
+        });
+
+        return pojo;
+    }
+
+    public @NotNull ConfigMap writeFields(final @NotNull Gson gson, final @NotNull Object pojo) {
+        final ConfigMap section = new ConfigMap();
+
+        for (final FieldAccessor field : this.getBinding().bound) {
+            final Object fieldValue = this.invokeGetter(field, pojo);
+
+            /* Gson skips fields that point back at the object itself */
+            if (fieldValue == pojo) {
+                continue;
+            }
+
+            if (fieldValue != null) {
+                final Type type = BindingPlan.runtimeType(gson, field.field.getGenericType(), fieldValue);
+                section.put(field.serializedName, POJOBinder.write(gson, fieldValue, type));
+            } else if (gson.serializeNulls()) {
+                section.put(field.serializedName, null);
+            }
+        }
+
+        return section;
+    }
+
+    /* Same choice Gson makes for a field, the runtime type wins unless only the declared type has an adapter. */
+    private static @NotNull Type runtimeType(
+            final @NotNull Gson gson,
+            final @NotNull Type declared,
+            final @NotNull Object value
+    ) {
+        if (!(declared instanceof Class) || value.getClass() == declared) {
+            return declared;
+        }
+
+        if (gson.getAdapter(value.getClass()) instanceof ReflectiveTypeAdapterFactory.Adapter
+            && !(gson.getAdapter((Class<?>) declared) instanceof ReflectiveTypeAdapterFactory.Adapter)) {
+            return declared;
+        }
+
+        return value.getClass();
+    }
+
+    private @NotNull FieldBinding createBinding() {
+        if (Modifier.isAbstract(this.type.getModifiers())
+            || (this.type.isMemberClass() && !Modifier.isStatic(this.type.getModifiers()))) {
+            return FieldBinding.UNAVAILABLE;
+        }
+
+        for (Class<?> current = this.type; current != Object.class; current = current.getSuperclass()) {
+            if (current == null || current.getTypeParameters().length > 0) {
+                return FieldBinding.UNAVAILABLE;
+            }
+        }
+
+        final MethodHandle constructor;
+        final List<FieldAccessor> accessors;
+
+        try {
+            final Constructor<?> declared = this.type.getDeclaredConstructor();
+            declared.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(declared).asType(BindingPlan.CONSTRUCTOR_TYPE);
+            accessors = this.getAccessors();
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            return FieldBinding.UNAVAILABLE;
+        }
+
+        final Map<String, FieldAccessor> byName = new HashMap<>();
+        final List<FieldAccessor> bound = new ArrayList<>();
+
+        for (final FieldAccessor accessor : accessors) {
+            if (Excluder.DEFAULT.excludeField(accessor.field, true)) {
+                continue;
+            }
+
+            if (accessor.field.isAnnotationPresent(JsonAdapter.class)
+                || byName.put(accessor.serializedName, accessor) != null) {
+                return FieldBinding.UNAVAILABLE;
+            }
+
+            final SerializedName serializedName = accessor.field.getAnnotation(SerializedName.class);
+
+            if (serializedName != null) {
+                for (final String alternate : serializedName.alternate()) {
+                    byName.put(alternate, accessor);
+                }
+            }
+
+            bound.add(accessor);
+        }
+
+        return new FieldBinding(constructor, byName, bound);
+    }
+
+    public void copyFields(final @NotNull Object source, final @NotNull Object target) {
+        for (final FieldAccessor field : this.getAccessors()) {
+            this.invokeSetter(field, target, this.invokeGetter(field, source));
+        }
+    }
+
+    private @Nullable Object invokeGetter(final @NotNull FieldAccessor field, final @NotNull Object pojo) {
+        try {
+            return (Object) field.getter.invokeExact(pojo);
+        } catch (Throwable throwable) {
+            throw new InvalidPojoException(
+                    String.format(
+                        "Couldn't read field '%s' of pojo type '%s'.",
+                        field.field.getName(),
+                        this.type.getName()
+                    ),
+                    throwable
+            );
+        }
+    }
+
+    private void invokeSetter(
+            final @NotNull FieldAccessor field,
+            final @NotNull Object pojo,
+            final @Nullable Object value
+    ) {
+        try {
+            field.setter.invokeExact(pojo, value);
+        } catch (Throwable throwable) {
+            throw new InvalidPojoException(
+                    String.format(
+                        "Couldn't set field '%s' of pojo type '%s'.",
+                        field.field.getName(),
+                        this.type.getName()
+                    ),
+                    throwable
+            );
+        }
+    }
+
+    private static final class FieldBinding {
+        private static final FieldBinding UNAVAILABLE =
+            new FieldBinding(null, Collections.emptyMap(), Collections.emptyList());
+
+        private final @Nullable MethodHandle constructor;
+        private final @NotNull Map<@NotNull String, @NotNull FieldAccessor> byName;
+        private final @NotNull List<@NotNull FieldAccessor> bound;
+
+        private FieldBinding(
+                final @Nullable MethodHandle constructor,
+                final @NotNull Map<@NotNull String, @NotNull FieldAccessor> byName,
+                final @NotNull List<@NotNull FieldAccessor> bound
+        ) {
+            this.constructor = constructor;
+            this.byName = byName;
+            this.bound = bound;
+        }
+    }
+
+    private static final class FieldAccessor {
+        private final @NotNull Field field;
+        private final @NotNull String serializedName;
+        private final @NotNull MethodHandle getter;
+        private final @NotNull MethodHandle setter;
+
+        private FieldAccessor(
+                final @NotNull Field field,
+                final @NotNull MethodHandle getter,
+                final @NotNull MethodHandle setter
+        ) {
+            this.field = field;
+            this.serializedName = field.isAnnotationPresent(SerializedName.class)
+                ? field.getAnnotation(SerializedName.class).value()
+                : field.getName();
+            this.getter = getter;
+            this.setter = setter;
+        }
+    }
+}
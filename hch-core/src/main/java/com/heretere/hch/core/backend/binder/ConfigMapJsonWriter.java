@@ -0,0 +1,185 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.stream.JsonWriter;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+public final class ConfigMapJsonWriter extends JsonWriter {
+    private static final Writer UNWRITABLE_WRITER = new Writer() {
+        @Override
+        public void write(final char @NotNull [] buffer, final int offset, final int length) {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void flush() {
+            throw new AssertionError();
+        }
+
+        @Override
+        public void close() {
+            throw new AssertionError();
+        }
+    };
+
+    private final @NotNull Deque<@NotNull Object> stack;
+    private @Nullable String pendingName;
+    private @Nullable Object product;
+
+    public ConfigMapJsonWriter() {
+        super(ConfigMapJsonWriter.UNWRITABLE_WRITER);
+
+        this.stack = new ArrayDeque<>();
+    }
+
+    public @Nullable Object get() {
+        if (!this.stack.isEmpty()) {
+            throw new IllegalStateException("Expected one value but the document is incomplete.");
+        }
+
+        return this.product;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void put(final @Nullable Object value) {
+        if (this.pendingName != null) {
+            if (value != null || this.getSerializeNulls()) {
+                ((ConfigMap) this.stack.element()).put(this.pendingName, value);
+            }
+
+            this.pendingName = null;
+        } else if (this.stack.isEmpty()) {
+            this.product = value;
+        } else if (this.stack.element() instanceof List) {
+            ((List<Object>) this.stack.element()).add(value);
+        } else {
+            throw new IllegalStateException("Expected a name before writing a value.");
+        }
+    }
+
+    private void checkCanClose(final @NotNull Class<?> type) {
+        if (this.stack.isEmpty() || this.pendingName != null || !type.isInstance(this.stack.element())) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    @Override
+    public @NotNull JsonWriter beginArray() {
+        final List<Object> list = new ArrayList<>();
+        this.put(list);
+        this.stack.push(list);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter endArray() {
+        this.checkCanClose(List.class);
+        this.stack.pop();
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter beginObject() {
+        final ConfigMap map = new ConfigMap();
+        this.put(map);
+        this.stack.push(map);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter endObject() {
+        this.checkCanClose(ConfigMap.class);
+        this.stack.pop();
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter name(final @NotNull String name) {
+        if (this.stack.isEmpty() || this.pendingName != null || !(this.stack.element() instanceof ConfigMap)) {
+            throw new IllegalStateException("Unexpected name '" + name + "'.");
+        }
+
+        this.pendingName = name;
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final @Nullable String value) {
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter jsonValue(final @Nullable String value) {
+        throw new UnsupportedOperationException("Raw json values can't be written to a config map.");
+    }
+
+    @Override
+    public @NotNull JsonWriter nullValue() {
+        this.put(null);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final boolean value) {
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final @Nullable Boolean value) {
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final double value) {
+        if (!this.isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+        }
+
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final long value) {
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public @NotNull JsonWriter value(final @Nullable Number value) {
+        if (value != null && !this.isLenient()) {
+            final double number = value.doubleValue();
+
+            if (Double.isNaN(number) || Double.isInfinite(number)) {
+                throw new IllegalArgumentException("JSON forbids NaN and infinities: " + value);
+            }
+        }
+
+        this.put(value);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+        /* Nothing is buffered, values are attached to the tree as soon as they are written. */
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!this.stack.isEmpty()) {
+            throw new IOException("Incomplete document.");
+        }
+    }
+}
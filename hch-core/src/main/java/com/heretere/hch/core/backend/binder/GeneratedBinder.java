@@ -0,0 +1,15 @@
+package com.heretere.hch.core.backend.binder;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.google.gson.Gson;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+/* Written by the hch-spigot-annotations processor, classes without one are bound through Gson. */
+public interface GeneratedBinder<T> {
+    @NotNull Class<T> getType();
+
+    @NotNull T read(@NotNull ConfigMap section, @NotNull Gson gson);
+
+    @NotNull ConfigMap write(@NotNull T pojo, @NotNull Gson gson);
+}
@@ -0,0 +1,144 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.exception.InvalidPojoException;
+
+public final class POJOBinder {
+    private POJOBinder() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    public static <T> @Nullable T read(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Class<T> type
+    ) {
+        if (value instanceof ConfigMap && BindingPlan.isPOJOType(type)) {
+            final BindingPlan plan = BindingPlan.of(type);
+            final Optional<GeneratedBinder<T>> binder = plan.getBinder();
+
+            if (binder.isPresent()) {
+                return binder.get().read((ConfigMap) value, gson);
+            } else if (plan.canBindFields(gson)) {
+                return type.cast(plan.readFields(gson, (ConfigMap) value));
+            }
+        }
+
+        return gson.fromJson(POJOBinder.toJsonElement(value), type);
+    }
+
+    public static <T> @Nullable T read(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Type type
+    ) {
+        return gson.fromJson(POJOBinder.toJsonElement(value), type);
+    }
+
+    public static void readInto(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Object pojo
+    ) {
+        final Object fresh = POJOBinder.read(gson, value, pojo.getClass());
+
+        if (fresh == null) {
+            throw new InvalidPojoException(
+                    String.format(
+                        "Couldn't rebind pojo of type '%s', the config no longer has a value for it.",
+                        pojo.getClass().getName()
+                    )
+            );
+        }
+
+        BindingPlan.of(pojo.getClass()).copyFields(fresh, pojo);
+    }
+
+    public static @Nullable Object write(final @NotNull Gson gson, final @Nullable Object pojo) {
+        if (pojo == null) {
+            return null;
+        }
+
+        final ConfigMapJsonWriter writer = new ConfigMapJsonWriter();
+        gson.toJson(pojo, pojo.getClass(), writer);
+
+        return writer.get();
+    }
+
+    public static @Nullable Object write(
+            final @NotNull Gson gson,
+            final @Nullable Object value,
+            final @NotNull Type type
+    ) {
+        if (value == null) {
+            return null;
+        }
+
+        final ConfigMapJsonWriter writer = new ConfigMapJsonWriter();
+        gson.toJson(value, type, writer);
+
+        return writer.get();
+    }
+
+    public static @NotNull ConfigMap writeSection(final @NotNull Gson gson, final @NotNull Object pojo) {
+        if (BindingPlan.isPOJOType(pojo.getClass())) {
+            final BindingPlan plan = BindingPlan.of(pojo.getClass());
+            final Optional<GeneratedBinder<Object>> binder = plan.getBinder();
+
+            if (binder.isPresent()) {
+                return binder.get().write(pojo, gson);
+            } else if (plan.canBindFields(gson)) {
+                return plan.writeFields(gson, pojo);
+            }
+        }
+
+        final Object section = POJOBinder.write(gson, pojo);
+
+        if (!(section instanceof ConfigMap)) {
+            throw new InvalidPojoException(
+                    String.format(
+                        "Pojo of type '%s' didn't serialize to a config section.",
+                        pojo.getClass().getName()
+                    )
+            );
+        }
+
+        return (ConfigMap) section;
+    }
+
+    public static @NotNull JsonElement toJsonElement(final @Nullable Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof Map) {
+            final JsonObject object = new JsonObject();
+            ((Map<?, ?>) value).forEach((key, child) -> object.add(key.toString(), POJOBinder.toJsonElement(child)));
+            return object;
+        } else if (value instanceof Collection) {
+            final JsonArray array = new JsonArray();
+            ((Collection<?>) value).forEach(child -> array.add(POJOBinder.toJsonElement(child)));
+            return array;
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        } else if (value instanceof Character) {
+            return new JsonPrimitive((Character) value);
+        }
+
+        return new JsonPrimitive(value.toString());
+    }
+}
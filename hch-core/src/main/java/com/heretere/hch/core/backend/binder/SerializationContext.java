@@ -0,0 +1,129 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/* Interned, so handlers using the same adapters share one Gson instance and its adapter cache. */
+public final class SerializationContext {
+    private static final @NotNull Map<@NotNull SerializationContext, @NotNull WeakReference<SerializationContext>>
+        INTERNED = new WeakHashMap<>();
+
+    private final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters;
+    private final int hash;
+    private volatile @Nullable Gson gson;
+
+    private SerializationContext(final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters) {
+        this.adapters = Collections.unmodifiableMap(new LinkedHashMap<>(adapters));
+        this.hash = this.adapters.hashCode();
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    public static @NotNull SerializationContext defaults() {
+        return SerializationContext.builder().build();
+    }
+
+    private static @NotNull SerializationContext intern(final @NotNull SerializationContext context) {
+        synchronized (SerializationContext.INTERNED) {
+            final WeakReference<SerializationContext> reference = SerializationContext.INTERNED.get(context);
+            final SerializationContext existing = reference == null ? null : reference.get();
+
+            if (existing != null) {
+                return existing;
+            }
+
+            SerializationContext.INTERNED.put(context, new WeakReference<>(context));
+            return context;
+        }
+    }
+
+    public @NotNull Gson getGson() {
+        Gson output = this.gson;
+
+        if (output == null) {
+            synchronized (this) {
+                output = this.gson;
+
+                if (output == null) {
+                    final GsonBuilder builder = new GsonBuilder().setPrettyPrinting();
+                    this.adapters.forEach(builder::registerTypeAdapter);
+                    this.gson = output = builder.create();
+                }
+            }
+        }
+
+        return output;
+    }
+
+    public @NotNull Map<@NotNull Class<?>, @NotNull Object> getAdapters() {
+        return this.adapters;
+    }
+
+    public @NotNull Builder toBuilder() {
+        return new Builder().registerTypeAdapters(this.adapters);
+    }
+
+    /* Adapters are compared by identity. */
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        } else if (!(o instanceof SerializationContext)) {
+            return false;
+        }
+
+        final SerializationContext other = (SerializationContext) o;
+
+        if (this.hash != other.hash || this.adapters.size() != other.adapters.size()) {
+            return false;
+        }
+
+        for (final Map.Entry<Class<?>, Object> entry : this.adapters.entrySet()) {
+            if (other.adapters.get(entry.getKey()) != entry.getValue()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    public static final class Builder {
+        private final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters;
+
+        private Builder() {
+            this.adapters = new LinkedHashMap<>();
+        }
+
+        /* A later registration replaces the earlier one, like in Gson. */
+        public @NotNull Builder registerTypeAdapter(final @NotNull Class<?> type, final @NotNull Object adapter) {
+            this.adapters.remove(type);
+            this.adapters.put(type, adapter);
+            return this;
+        }
+
+        public @NotNull Builder registerTypeAdapters(final @NotNull Map<@NotNull Class<?>, @NotNull Object> adapters) {
+            adapters.forEach(this::registerTypeAdapter);
+            return this;
+        }
+
+        public @NotNull SerializationContext build() {
+            return SerializationContext.intern(new SerializationContext(this.adapters));
+        }
+    }
+}
@@ -1,6 +0,0 @@
-package com.heretere.hch.core.backend.comments;
-
-import com.heretere.hch.core.backend.ErrorHolder;
-
-public interface CommentAdapter extends ErrorHolder {
-}
@@ -0,0 +1,193 @@
+package com.heretere.hch.core.backend.comments;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/*
+ * Passes characters through to a parser untouched while remembering every line that only contains a comment.
+ * Parsers skip comments on their own, this reader is what lets them re-attach those lines to the next key.
+ */
+public final class CommentCapturingReader extends Reader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final @NotNull Reader delegate;
+    private final @NotNull String commentPrefix;
+    private final boolean lineAtATime;
+    private final char @NotNull [] buffer;
+    private final @NotNull Deque<@NotNull CapturedComment> comments;
+    private final @NotNull StringBuilder currentLine;
+
+    private int position;
+    private int limit;
+    private int line;
+    private int matchedPrefix;
+    private @NotNull LineState state;
+
+    public CommentCapturingReader(
+            final @NotNull Reader delegate,
+            final @NotNull String commentPrefix,
+            final boolean lineAtATime
+    ) {
+        super(delegate);
+        this.delegate = delegate;
+        this.commentPrefix = commentPrefix;
+        this.lineAtATime = lineAtATime;
+        this.buffer = new char[CommentCapturingReader.BUFFER_SIZE];
+        this.comments = new ArrayDeque<>();
+        this.currentLine = new StringBuilder();
+        this.state = LineState.START;
+    }
+
+    private void track(final char character) {
+        if (character == '\n') {
+            this.finishLine();
+            this.line++;
+            return;
+        }
+
+        switch (this.state) {
+            case START:
+                /* Indentation is dropped, writers re-indent comments to the node they belong to. */
+                if (Character.isWhitespace(character)) {
+                    break;
+                }
+
+                this.state = LineState.PREFIX;
+                this.matchPrefix(character);
+                break;
+            case PREFIX:
+                this.matchPrefix(character);
+                break;
+            case COMMENT:
+                if (character != '\r') {
+                    this.currentLine.append(character);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void matchPrefix(final char character) {
+        if (this.commentPrefix.charAt(this.matchedPrefix) != character) {
+            this.state = LineState.CONTENT;
+            this.currentLine.setLength(0);
+            return;
+        }
+
+        this.currentLine.append(character);
+
+        this.matchedPrefix++;
+
+        if (this.matchedPrefix == this.commentPrefix.length()) {
+            this.state = LineState.COMMENT;
+        }
+    }
+
+    private void finishLine() {
+        if (this.state == LineState.COMMENT) {
+            this.comments.add(new CapturedComment(this.line, this.currentLine.toString()));
+        }
+
+        this.currentLine.setLength(0);
+        this.matchedPrefix = 0;
+        this.state = LineState.START;
+    }
+
+    private boolean fill() throws IOException {
+        int read = 0;
+
+        while (read == 0) {
+            read = this.delegate.read(this.buffer, 0, this.buffer.length);
+        }
+
+        if (read == -1) {
+            this.finishLine();
+            return false;
+        }
+
+        this.position = 0;
+        this.limit = read;
+
+        return true;
+    }
+
+    @Override
+    public int read(final char @NotNull [] output, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        if (this.position >= this.limit && !this.fill()) {
+            return -1;
+        }
+
+        int end = Math.min(this.limit, this.position + length);
+
+        for (int index = this.position; index < end; index++) {
+            this.track(this.buffer[index]);
+
+            if (this.lineAtATime && this.buffer[index] == '\n') {
+                end = index + 1;
+            }
+        }
+
+        final int count = end - this.position;
+        System.arraycopy(this.buffer, this.position, output, offset, count);
+        this.position = end;
+
+        return count;
+    }
+
+    public @NotNull List<@NotNull String> pollComments() {
+        return this.pollCommentsBefore(Integer.MAX_VALUE);
+    }
+
+    public @NotNull List<@NotNull String> pollCommentsBefore(final int lineNumber) {
+        if (this.comments.isEmpty() || this.comments.element().line >= lineNumber) {
+            return Collections.emptyList();
+        }
+
+        final List<String> output = new ArrayList<>();
+
+        while (!this.comments.isEmpty() && this.comments.element().line < lineNumber) {
+            output.add(this.comments.remove().text);
+        }
+
+        return output;
+    }
+
+    /* Lines inside multi-line scalars only look like comments, the parser reports where those scalars end. */
+    public void discardCommentsBetween(final int afterLine, final int beforeLine) {
+        this.comments.removeIf(comment -> comment.line > afterLine && comment.line < beforeLine);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.delegate.close();
+    }
+
+    private enum LineState {
+        START,
+        PREFIX,
+        COMMENT,
+        CONTENT
+    }
+
+    private static final class CapturedComment {
+        private final int line;
+        private final @NotNull String text;
+
+        private CapturedComment(final int line, final @NotNull String text) {
+            this.line = line;
+            this.text = text;
+        }
+    }
+}
@@ -2,9 +2,8 @@ package com.heretere.hch.core.backend.config;
 
 import org.jetbrains.annotations.NotNull;
 
-import com.heretere.hch.core.backend.ErrorHolder;
-
-public interface ConfigAdapter extends ErrorHolder {
+/* Stateless and failing by throwing, so one instance can be shared by every handler and thread. */
+public interface ConfigAdapter {
     @NotNull
     String getName();
 }
@@ -1,13 +1,14 @@
 package com.heretere.hch.core.backend.config;
 
-import java.nio.file.Path;
-import java.util.Optional;
+import java.io.IOException;
+import java.io.Reader;
 
 import org.jetbrains.annotations.NotNull;
 
 import com.heretere.hch.core.backend.map.ConfigMap;
 
 public interface ConfigReader extends ConfigAdapter {
+    /* Throws a ConfigFormatException when the document can't be parsed. */
     @NotNull
-    Optional<@NotNull ConfigMap> read(@NotNull Path fileLocation);
+    ConfigMap read(@NotNull Reader input) throws IOException;
 }
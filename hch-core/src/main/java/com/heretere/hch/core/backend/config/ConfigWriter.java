@@ -3,8 +3,9 @@ package com.heretere.hch.core.backend.config;
 import com.heretere.hch.core.backend.map.ConfigMap;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.file.Path;
+import java.io.IOException;
+import java.io.Writer;
 
 public interface ConfigWriter extends ConfigAdapter {
-    boolean write(@NotNull Path fileLocation, @NotNull ConfigMap configMap);
+    void write(@NotNull Writer output, @NotNull ConfigMap configMap) throws IOException;
 }
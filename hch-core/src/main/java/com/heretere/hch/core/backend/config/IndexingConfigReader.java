@@ -0,0 +1,21 @@
+package com.heretere.hch.core.backend.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+public interface IndexingConfigReader extends ConfigReader {
+    /* Returns false when the document can't be split safely and has to be parsed whole. */
+    boolean indexSections(@NotNull ByteBuffer content, @NotNull SectionConsumer consumer);
+
+    @NotNull
+    ConfigMap readSection(@NotNull String section) throws IOException;
+
+    @FunctionalInterface
+    interface SectionConsumer {
+        void accept(@NotNull String key, int start, int end);
+    }
+}
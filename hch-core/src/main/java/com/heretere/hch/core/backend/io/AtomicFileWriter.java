@@ -0,0 +1,144 @@
+package com.heretere.hch.core.backend.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+
+/*
+ * Every save goes to a sibling temp file which is then moved over the target, so a crash mid save leaves either the
+ * old or the new file behind and never a truncated one.
+ */
+public final class AtomicFileWriter {
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private AtomicFileWriter() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    public static boolean write(
+            final @NotNull Path fileLocation,
+            final @NotNull Durability durability,
+            final @NotNull Content content
+    ) throws IOException {
+        return AtomicFileWriter.write(fileLocation, durability, null, content);
+    }
+
+    /*
+     * When a digest is given it is updated with exactly the bytes that end up in the file.
+     */
+    public static boolean write(
+            final @NotNull Path fileLocation,
+            final @NotNull Durability durability,
+            final @Nullable MessageDigest digest,
+            final @NotNull Content content
+    ) throws IOException {
+        return AtomicFileWriter.writeBytes(fileLocation, durability, stream -> {
+            final Writer writer = new BufferedWriter(
+                new OutputStreamWriter(
+                    digest == null ? stream : new DigestOutputStream(stream, digest),
+                    StandardCharsets.UTF_8
+                )
+            );
+
+            if (!content.write(writer)) {
+                return false;
+            }
+
+            writer.flush();
+
+            return true;
+        });
+    }
+
+    public static boolean writeBytes(
+            final @NotNull Path fileLocation,
+            final @NotNull Durability durability,
+            final @NotNull ByteContent content
+    ) throws IOException {
+        final Path target = fileLocation.toAbsolutePath();
+        final Path directory = target.getParent();
+
+        Files.createDirectories(directory);
+
+        final Path temp = Files.createTempFile(directory, "." + target.getFileName(), AtomicFileWriter.TEMP_SUFFIX);
+
+        try {
+            AtomicFileWriter.copyPermissions(target, temp);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                if (!content.write(Channels.newOutputStream(channel))) {
+                    return false;
+                }
+
+                if (durability != Durability.NONE) {
+                    channel.force(true);
+                }
+            }
+
+            AtomicFileWriter.move(temp, target);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        if (durability == Durability.SYNC_FILE_AND_DIRECTORY) {
+            AtomicFileWriter.syncDirectory(directory);
+        }
+
+        return true;
+    }
+
+    private static void move(final @NotNull Path source, final @NotNull Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /*
+     * Temp files are created owner only, the replaced config should keep whatever permissions it had before.
+     */
+    private static void copyPermissions(final @NotNull Path original, final @NotNull Path temp) {
+        try {
+            if (Files.exists(original)) {
+                Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(original));
+            }
+        } catch (UnsupportedOperationException | IOException ignored) {
+            /* Not a posix file system, nothing to copy. */
+        }
+    }
+
+    private static void syncDirectory(final @NotNull Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+            /* Windows can't open directories as channels, the move itself is still atomic there. */
+        }
+    }
+
+    @FunctionalInterface
+    public interface Content {
+        boolean write(@NotNull Writer writer) throws IOException;
+    }
+
+    /* Has to flush what it buffers, the stream stays open until the file is synced. */
+    @FunctionalInterface
+    public interface ByteContent {
+        boolean write(@NotNull OutputStream output) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.heretere.hch.core.backend.io;
+
+public enum Durability {
+    /*
+     * The new file is moved over the old one atomically, but its contents may still only live in the page cache.
+     * Readers never see a partial file, a power loss can still lose the save.
+     */
+    NONE,
+    /*
+     * The new file is forced to the storage device before it replaces the old one.
+     */
+    SYNC_FILE,
+    /*
+     * Like SYNC_FILE, and the parent directory is forced after the move so the rename itself survives a power loss.
+     * Platforms that can't open a directory for syncing fall back to SYNC_FILE.
+     */
+    SYNC_FILE_AND_DIRECTORY
+}
@@ -0,0 +1,53 @@
+package com.heretere.hch.core.backend.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class Fingerprints {
+    private static final String ALGORITHM = "SHA-256";
+
+    private Fingerprints() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    public static @NotNull MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(Fingerprints.ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every java platform has to support " + Fingerprints.ALGORITHM + ".", e);
+        }
+    }
+
+    /*
+     * A writer that only feeds the UTF-8 bytes of whatever is written into the digest, used to fingerprint a
+     * serialized config without holding it in memory.
+     */
+    public static @NotNull Writer newDigestWriter(final @NotNull MessageDigest digest) {
+        return new BufferedWriter(new OutputStreamWriter(new DigestSink(digest), StandardCharsets.UTF_8));
+    }
+
+    private static final class DigestSink extends OutputStream {
+        private final @NotNull MessageDigest digest;
+
+        private DigestSink(final @NotNull MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        @Override
+        public void write(final int value) {
+            this.digest.update((byte) value);
+        }
+
+        @Override
+        public void write(final byte @NotNull [] bytes, final int offset, final int length) {
+            this.digest.update(bytes, offset, length);
+        }
+    }
+}
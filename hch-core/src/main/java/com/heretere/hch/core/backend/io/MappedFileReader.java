@@ -0,0 +1,169 @@
+package com.heretere.hch.core.backend.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+public final class MappedFileReader extends Reader {
+    private static final long MAPPED_READ_THRESHOLD = 1L << 20;
+    private static final long REGION_SIZE = 64L << 20;
+    private static final int MAX_BYTES_PER_CHAR = 4;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final @NotNull FileChannel channel;
+    private final long size;
+    private final @NotNull CharsetDecoder decoder;
+    private final @Nullable MessageDigest digest;
+    private final char @NotNull [] pair;
+
+    private @Nullable ByteBuffer region;
+    private long regionStart;
+    private int pendingPairIndex;
+    private boolean finished;
+
+    public MappedFileReader(final @NotNull Path file, final @Nullable MessageDigest digest) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = this.channel.size();
+        this.decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.digest = digest;
+        this.pair = new char[2];
+        this.pendingPairIndex = this.pair.length;
+    }
+
+    /* Skipped on Windows, where a mapped file can't be replaced until the mapping is collected. */
+    public static boolean shouldMap(final long fileSize) {
+        return fileSize >= MappedFileReader.MAPPED_READ_THRESHOLD && !MappedFileReader.WINDOWS;
+    }
+
+    @Override
+    public int read(final char @NotNull [] output, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+
+        /* A supplementary character needs two chars at once, single char reads go through a small buffer. */
+        if (length == 1) {
+            if (this.pendingPairIndex == this.pair.length) {
+                final int read = this.decode(this.pair, 0, this.pair.length);
+
+                if (read == -1) {
+                    return -1;
+                }
+
+                this.pendingPairIndex = this.pair.length - read;
+
+                if (read == 1) {
+                    this.pair[1] = this.pair[0];
+                }
+            }
+
+            output[offset] = this.pair[this.pendingPairIndex++];
+            return 1;
+        }
+
+        if (this.pendingPairIndex < this.pair.length) {
+            output[offset] = this.pair[this.pendingPairIndex++];
+            return 1;
+        }
+
+        return this.decode(output, offset, length);
+    }
+
+    private int decode(final char @NotNull [] output, final int offset, final int length) throws IOException {
+        final CharBuffer target = CharBuffer.wrap(output, offset, length);
+
+        while (target.position() == offset) {
+            if (this.finished) {
+                return -1;
+            }
+
+            final ByteBuffer input = this.nextRegion();
+            final boolean endOfInput = this.regionStart + input.limit() >= this.size;
+            final int start = input.position();
+            final CoderResult result = this.decoder.decode(input, target, endOfInput);
+
+            this.updateDigest(input, start);
+
+            if (result.isUnderflow() && endOfInput && this.decoder.flush(target).isUnderflow()) {
+                this.finished = true;
+            }
+        }
+
+        return target.position() - offset;
+    }
+
+    /* The next region starts at the first undecoded byte, so a split character decodes whole. */
+    private @NotNull ByteBuffer nextRegion() throws IOException {
+        final ByteBuffer current = this.region;
+
+        if (current != null
+                && (current.remaining() >= MappedFileReader.MAX_BYTES_PER_CHAR
+                    || this.regionStart + current.limit() >= this.size)) {
+            return current;
+        }
+
+        final long start = current == null ? 0L : this.regionStart + current.position();
+        final ByteBuffer next = this.map(start);
+
+        this.region = next;
+        this.regionStart = start;
+
+        return next;
+    }
+
+    private @NotNull ByteBuffer map(final long start) throws IOException {
+        return this.channel.map(
+            FileChannel.MapMode.READ_ONLY,
+            start,
+            Math.min(MappedFileReader.REGION_SIZE, this.size - start)
+        );
+    }
+
+    private void updateDigest(final @NotNull ByteBuffer input, final int start) {
+        if (this.digest != null && input.position() > start) {
+            final ByteBuffer consumed = input.duplicate();
+
+            consumed.position(start);
+            consumed.limit(input.position());
+            this.digest.update(consumed);
+        }
+    }
+
+    public void drainIntoDigest() throws IOException {
+        if (this.digest == null) {
+            return;
+        }
+
+        long start = this.region == null ? 0L : this.regionStart + this.region.position();
+
+        while (start < this.size) {
+            final ByteBuffer next = this.map(start);
+
+            start += next.remaining();
+            this.digest.update(next);
+        }
+
+        this.region = null;
+        this.finished = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.region = null;
+        this.channel.close();
+    }
+}
@@ -0,0 +1,106 @@
+package com.heretere.hch.core.backend.io;
+
+import com.heretere.hch.core.backend.config.IndexingConfigReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/* Only valid while the file keeps the size and modification time it was indexed with. */
+public final class SectionIndex {
+    private final @NotNull Path file;
+    private final long size;
+    private final long modified;
+    private final @NotNull Map<@NotNull String, int @NotNull []> sections;
+
+    private SectionIndex(
+            final @NotNull Path file,
+            final long size,
+            final long modified,
+            final @NotNull Map<@NotNull String, int @NotNull []> sections
+    ) {
+        this.file = file;
+        this.size = size;
+        this.modified = modified;
+        this.sections = sections;
+    }
+
+    /* On an empty result the digest has to be reset before the file is parsed eagerly. */
+    public static @NotNull Optional<@NotNull SectionIndex> build(
+            final @NotNull Path file,
+            final @NotNull IndexingConfigReader reader,
+            final @NotNull MessageDigest digest
+    ) throws IOException {
+        final long size = Files.size(file);
+        final long modified = Files.getLastModifiedTime(file).toMillis();
+
+        if (size > Integer.MAX_VALUE) {
+            return Optional.empty();
+        }
+
+        final ByteBuffer content = SectionIndex.load(file, size);
+        final Map<String, int[]> sections = new LinkedHashMap<>();
+        final boolean[] duplicate = new boolean[1];
+
+        digest.update(content.duplicate());
+
+        final boolean indexed = reader.indexSections(
+            content.duplicate(),
+            (key, start, end) -> duplicate[0] |= sections.put(key, new int[] {start, end}) != null
+        );
+
+        return indexed && !duplicate[0]
+            ? Optional.of(new SectionIndex(file, size, modified, sections))
+            : Optional.empty();
+    }
+
+    private static @NotNull ByteBuffer load(final @NotNull Path file, final long size) throws IOException {
+        if (!MappedFileReader.shouldMap(size)) {
+            return ByteBuffer.wrap(Files.readAllBytes(file));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    public @NotNull Set<@NotNull String> getKeys() {
+        return Collections.unmodifiableSet(this.sections.keySet());
+    }
+
+    public boolean isCurrent() throws IOException {
+        return Files.size(this.file) == this.size
+            && Files.getLastModifiedTime(this.file).toMillis() == this.modified;
+    }
+
+    public @NotNull String readSection(final @NotNull String key) throws IOException {
+        final int[] range = this.sections.get(key);
+
+        if (range == null) {
+            throw new IllegalArgumentException(String.format("No section '%s' in '%s'.", key, this.file));
+        }
+
+        final ByteBuffer bytes = ByteBuffer.allocate(range[1] - range[0]);
+
+        try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.READ)) {
+            while (bytes.hasRemaining() && channel.read(bytes, (long) range[0] + bytes.position()) != -1) {
+                continue;
+            }
+        }
+
+        bytes.flip();
+
+        return StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+}
@@ -0,0 +1,357 @@
+package com.heretere.hch.core.backend.io;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/*
+ * A cache file is used while the source's size and modification time match. An edit within the same timestamp tick
+ * keeps both, so entries recorded less than a tick after the source changed are also checked against its hash.
+ */
+public final class SnapshotCache {
+    private static final Logger LOGGER = Logger.getLogger(SnapshotCache.class.getName());
+    private static final int MAGIC = 0x48434843;
+    private static final int VERSION = 2;
+    private static final String SUFFIX = ".bin";
+    private static final int HASH_BUFFER_SIZE = 8192;
+    /* FAT stores modification times in two second steps, the coarsest a config file is likely to sit on. */
+    private static final long TIME_RESOLUTION_MILLIS = 2000L;
+    private static final int RECORDED_AT_OFFSET = 24;
+
+    private static final byte NULL = 0;
+    private static final byte SECTION = 1;
+    private static final byte LIST = 2;
+    private static final byte STRING = 3;
+    private static final byte INT = 4;
+    private static final byte LONG = 5;
+    private static final byte DOUBLE = 6;
+    private static final byte FLOAT = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte BIG_INTEGER = 9;
+    private static final byte BIG_DECIMAL = 10;
+    private static final byte DATE = 11;
+    private static final byte BYTES = 12;
+
+    private final @NotNull Path directory;
+    private final @NotNull Path basePath;
+
+    public SnapshotCache(final @NotNull Path directory, final @NotNull Path basePath) {
+        this.directory = directory;
+        this.basePath = basePath.toAbsolutePath();
+    }
+
+    private @NotNull Path getCacheFile(final @NotNull Path source) {
+        final String relative = this.basePath.relativize(source.toAbsolutePath()).toString();
+
+        return this.directory.resolve(relative + SnapshotCache.SUFFIX);
+    }
+
+    public @NotNull Optional<@NotNull Hit> read(final @NotNull Path source) {
+        final Path cacheFile = this.getCacheFile(source);
+
+        if (!Files.isRegularFile(cacheFile) || !Files.isRegularFile(source)) {
+            return Optional.empty();
+        }
+
+        try {
+            final long now = System.currentTimeMillis();
+            final byte[] bytes = Files.readAllBytes(cacheFile);
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            final long modified = Files.getLastModifiedTime(source).toMillis();
+
+            if (buffer.getInt() != SnapshotCache.MAGIC
+                    || buffer.getInt() != SnapshotCache.VERSION
+                    || buffer.getLong() != Files.size(source)
+                    || buffer.getLong() != modified) {
+                return Optional.empty();
+            }
+
+            final long recordedAt = buffer.getLong();
+            final byte[] fingerprint = new byte[buffer.getInt()];
+            buffer.get(fingerprint);
+
+            if (SnapshotCache.isRacy(modified, recordedAt)) {
+                if (!MessageDigest.isEqual(fingerprint, SnapshotCache.hash(source))) {
+                    return Optional.empty();
+                }
+
+                /* Once the tick has passed, a later edit moves the time, so the hash isn't needed again. */
+                if (!SnapshotCache.isRacy(modified, now)) {
+                    SnapshotCache.settle(cacheFile, bytes, now);
+                }
+            }
+
+            return Optional.of(new Hit(SnapshotCache.readSection(buffer), fingerprint));
+        } catch (IOException | RuntimeException e) {
+            /* A cache file from an older version or cut short by a crash is just a miss. */
+            return Optional.empty();
+        }
+    }
+
+    private static void settle(final @NotNull Path cacheFile, final byte @NotNull [] bytes, final long recordedAt) {
+        ByteBuffer.wrap(bytes).putLong(SnapshotCache.RECORDED_AT_OFFSET, recordedAt);
+
+        try {
+            AtomicFileWriter.writeBytes(cacheFile, Durability.NONE, stream -> {
+                stream.write(bytes);
+                return true;
+            });
+        } catch (IOException e) {
+            SnapshotCache.LOGGER.log(Level.WARNING, String.format("Couldn't update '%s'.", cacheFile), e);
+        }
+    }
+
+    private static boolean isRacy(final long modified, final long recordedAt) {
+        return modified > recordedAt - SnapshotCache.TIME_RESOLUTION_MILLIS;
+    }
+
+    private static byte @NotNull [] hash(final @NotNull Path source) throws IOException {
+        final MessageDigest digest = Fingerprints.newDigest();
+
+        try (InputStream stream = new DigestInputStream(Files.newInputStream(source), digest)) {
+            final byte[] buffer = new byte[SnapshotCache.HASH_BUFFER_SIZE];
+
+            while (stream.read(buffer) != -1) {
+                continue;
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /*
+     * The fingerprint has to be the hash of the exact bytes the tree was parsed from, and the attributes have to be
+     * taken at recordedAt, before those bytes were read.
+     */
+    public void write(
+            final @NotNull Path source,
+            final @NotNull BasicFileAttributes attributes,
+            final long recordedAt,
+            final byte @NotNull [] fingerprint,
+            final @NotNull ConfigMap tree
+    ) {
+        try {
+            AtomicFileWriter.writeBytes(this.getCacheFile(source), Durability.NONE, stream -> {
+                final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(stream));
+
+                output.writeInt(SnapshotCache.MAGIC);
+                output.writeInt(SnapshotCache.VERSION);
+                output.writeLong(attributes.size());
+                output.writeLong(attributes.lastModifiedTime().toMillis());
+                output.writeLong(recordedAt);
+                output.writeInt(fingerprint.length);
+                output.write(fingerprint);
+                SnapshotCache.writeSection(output, tree);
+                output.flush();
+
+                return true;
+            });
+        } catch (IOException e) {
+            SnapshotCache.LOGGER.log(Level.WARNING, String.format("Couldn't cache '%s'.", source), e);
+        }
+    }
+
+    private static void writeSection(final @NotNull DataOutputStream output, final @NotNull ConfigMap section)
+            throws IOException {
+        output.writeInt(section.size());
+
+        for (final Map.Entry<String, Object> entry : section.entrySet()) {
+            SnapshotCache.writeString(output, entry.getKey());
+            SnapshotCache.writeValue(output, entry.getValue());
+        }
+
+        final Map<String, List<String>> comments = section.getAllComments();
+        output.writeInt(comments.size());
+
+        for (final Map.Entry<String, List<String>> entry : comments.entrySet()) {
+            SnapshotCache.writeString(output, entry.getKey());
+            output.writeInt(entry.getValue().size());
+
+            for (final String line : entry.getValue()) {
+                SnapshotCache.writeString(output, line);
+            }
+        }
+    }
+
+    private static void writeValue(final @NotNull DataOutputStream output, final @Nullable Object value)
+            throws IOException {
+        if (value == null) {
+            output.writeByte(SnapshotCache.NULL);
+        } else if (value instanceof ConfigMap) {
+            output.writeByte(SnapshotCache.SECTION);
+            SnapshotCache.writeSection(output, (ConfigMap) value);
+        } else if (value instanceof List) {
+            output.writeByte(SnapshotCache.LIST);
+            output.writeInt(((List<?>) value).size());
+
+            for (final Object child : (List<?>) value) {
+                SnapshotCache.writeValue(output, child);
+            }
+        } else if (value instanceof String) {
+            output.writeByte(SnapshotCache.STRING);
+            SnapshotCache.writeString(output, (String) value);
+        } else if (value instanceof Integer) {
+            output.writeByte(SnapshotCache.INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(SnapshotCache.LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(SnapshotCache.DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            output.writeByte(SnapshotCache.FLOAT);
+            output.writeFloat((Float) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte(SnapshotCache.BOOLEAN);
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof BigInteger) {
+            output.writeByte(SnapshotCache.BIG_INTEGER);
+            SnapshotCache.writeString(output, value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(SnapshotCache.BIG_DECIMAL);
+            SnapshotCache.writeString(output, value.toString());
+        } else if (value.getClass() == Date.class) {
+            output.writeByte(SnapshotCache.DATE);
+            output.writeLong(((Date) value).getTime());
+        } else if (value instanceof byte[]) {
+            output.writeByte(SnapshotCache.BYTES);
+            output.writeInt(((byte[]) value).length);
+            output.write((byte[]) value);
+        } else {
+            throw new IOException(
+                String.format("Can't cache config values of type '%s'.", value.getClass().getName())
+            );
+        }
+    }
+
+    private static void writeString(final @NotNull DataOutputStream output, final @NotNull String value)
+            throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static @NotNull ConfigMap readSection(final @NotNull ByteBuffer buffer) throws IOException {
+        final ConfigMap section = new ConfigMap();
+        final int entries = buffer.getInt();
+
+        for (int i = 0; i < entries; i++) {
+            section.put(SnapshotCache.readString(buffer), SnapshotCache.readValue(buffer));
+        }
+
+        final int comments = buffer.getInt();
+
+        for (int i = 0; i < comments; i++) {
+            final String key = SnapshotCache.readString(buffer);
+            final List<String> lines = new ArrayList<>();
+            final int size = buffer.getInt();
+
+            for (int line = 0; line < size; line++) {
+                lines.add(SnapshotCache.readString(buffer));
+            }
+
+            section.setComments(key, lines);
+        }
+
+        return section;
+    }
+
+    private static @Nullable Object readValue(final @NotNull ByteBuffer buffer) throws IOException {
+        final byte tag = buffer.get();
+
+        switch (tag) {
+            case SnapshotCache.NULL:
+                return null;
+            case SnapshotCache.SECTION:
+                return SnapshotCache.readSection(buffer);
+            case SnapshotCache.LIST:
+                final int size = buffer.getInt();
+                final List<Object> list = new ArrayList<>(size);
+
+                for (int i = 0; i < size; i++) {
+                    list.add(SnapshotCache.readValue(buffer));
+                }
+
+                return list;
+            case SnapshotCache.STRING:
+                return SnapshotCache.readString(buffer);
+            case SnapshotCache.INT:
+                return buffer.getInt();
+            case SnapshotCache.LONG:
+                return buffer.getLong();
+            case SnapshotCache.DOUBLE:
+                return buffer.getDouble();
+            case SnapshotCache.FLOAT:
+                return buffer.getFloat();
+            case SnapshotCache.BOOLEAN:
+                return buffer.get() != 0;
+            case SnapshotCache.BIG_INTEGER:
+                return new BigInteger(SnapshotCache.readString(buffer));
+            case SnapshotCache.BIG_DECIMAL:
+                return new BigDecimal(SnapshotCache.readString(buffer));
+            case SnapshotCache.DATE:
+                return new Date(buffer.getLong());
+            case SnapshotCache.BYTES:
+                final byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                return bytes;
+            default:
+                throw new IOException("Unknown value tag " + tag + " in config cache.");
+        }
+    }
+
+    private static @NotNull String readString(final @NotNull ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final String value = new String(
+            buffer.array(),
+            buffer.arrayOffset() + buffer.position(),
+            length,
+            StandardCharsets.UTF_8
+        );
+
+        buffer.position(buffer.position() + length);
+
+        return value;
+    }
+
+    public static final class Hit {
+        private final @NotNull ConfigMap tree;
+        private final byte @NotNull [] fingerprint;
+
+        private Hit(final @NotNull ConfigMap tree, final byte @NotNull [] fingerprint) {
+            this.tree = tree;
+            this.fingerprint = fingerprint;
+        }
+
+        public @NotNull ConfigMap getTree() {
+            return this.tree;
+        }
+
+        public byte @NotNull [] getFingerprint() {
+            return this.fingerprint;
+        }
+    }
+}
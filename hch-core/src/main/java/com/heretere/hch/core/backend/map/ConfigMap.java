@@ -3,10 +3,35 @@ package com.heretere.hch.core.backend.map;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 public class ConfigMap extends TreeMap<@NotNull String, @Nullable Object> {
+    public static final char PATH_SEPARATOR = '.';
+
+    private @Nullable Map<@NotNull String, @NotNull List<@NotNull String>> comments;
+    private boolean modified;
+    private boolean frozen;
+    private @Nullable ConfigMap cachedSnapshot;
+    /* The section this one was last snapshotted under, so a change here can drop the cached copies above it too. */
+    private @Nullable ConfigMap owner;
+
     public ConfigMap() {
         super();
     }
@@ -14,9 +39,651 @@ public class ConfigMap extends TreeMap<@NotNull String, @Nullable Object> {
     public static @NotNull ConfigMap copy(final @NotNull Map<?, ?> original) {
         final ConfigMap map = new ConfigMap();
         original.forEach((key, value) -> map.put(key.toString(), value));
+
+        if (original instanceof ConfigMap) {
+            map.putAllComments((ConfigMap) original);
+        }
+
         return map;
     }
 
+    public static @Nullable ConfigMap asConfigMap(final @Nullable Object value) {
+        if (value instanceof ConfigMap) {
+            return (ConfigMap) value;
+        }
+
+        return value instanceof Map ? ConfigMap.copy((Map<?, ?>) value) : null;
+    }
+
+    /*
+     * Keys may contain the separator themselves (e.g. "1.16"), so at every level a key matching the rest of the path
+     * is tried before splitting it at the next separator.
+     */
+    public @Nullable Object getPath(final @NotNull String dottedKey) {
+        if (dottedKey.isEmpty()) {
+            return this;
+        }
+
+        return ConfigMap.getPath(this, dottedKey, 0);
+    }
+
+    private static @Nullable Object getPath(
+            final @NotNull Map<?, ?> section,
+            final @NotNull String dottedKey,
+            final int start
+    ) {
+        final Object literal = section.get(dottedKey.substring(start));
+
+        if (literal != null) {
+            return literal;
+        }
+
+        for (int end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR, start);
+             end != -1;
+             end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR, end + 1)) {
+            final Object child = section.get(dottedKey.substring(start, end));
+
+            if (child instanceof Map) {
+                final Object value = ConfigMap.getPath((Map<?, ?>) child, dottedKey, end + 1);
+
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    public boolean containsPath(final @NotNull String dottedKey) {
+        return this.getPath(dottedKey) != null;
+    }
+
+    public void putPath(final @NotNull String dottedKey, final @Nullable Object value) {
+        if (dottedKey.isEmpty()) {
+            throw new IllegalArgumentException("Can't replace the root of a config map.");
+        }
+
+        final Map.Entry<ConfigMap, String> slot = Objects.requireNonNull(this.findSlot(dottedKey, 0, true));
+        slot.getKey().put(slot.getValue(), value);
+    }
+
+    public @NotNull List<@NotNull String> getPathComments(final @NotNull String dottedKey) {
+        final Map.Entry<ConfigMap, String> slot = this.findSlot(dottedKey, 0, false);
+
+        return slot == null ? Collections.emptyList() : slot.getKey().getComments(slot.getValue());
+    }
+
+    public void setPathComments(final @NotNull String dottedKey, final @NotNull List<@NotNull String> comments) {
+        if (dottedKey.isEmpty()) {
+            throw new IllegalArgumentException("Can't attach comments to the root of a config map.");
+        }
+
+        final Map.Entry<ConfigMap, String> slot = Objects.requireNonNull(this.findSlot(dottedKey, 0, true));
+        slot.getKey().setComments(slot.getValue(), comments);
+    }
+
+    /*
+     * Finds the section holding a path and the key inside it. An existing key or section wins over splitting at a
+     * separator, so dotted keys can be addressed by name; new paths are split at every separator.
+     */
+    private @Nullable Map.Entry<@NotNull ConfigMap, @NotNull String> findSlot(
+            final @NotNull String dottedKey,
+            final int start,
+            final boolean create
+    ) {
+        final String rest = dottedKey.substring(start);
+
+        if (super.containsKey(rest)) {
+            return new AbstractMap.SimpleImmutableEntry<>(this, rest);
+        }
+
+        for (int end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR, start);
+             end != -1;
+             end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR, end + 1)) {
+            final Object child = super.get(dottedKey.substring(start, end));
+
+            if (child instanceof ConfigMap) {
+                return ((ConfigMap) child).findSlot(dottedKey, end + 1, create);
+            }
+        }
+
+        final int end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR, start);
+
+        if (end == -1) {
+            return new AbstractMap.SimpleImmutableEntry<>(this, rest);
+        } else if (!create) {
+            return null;
+        }
+
+        return this.getOrCreateSection(dottedKey.substring(start, end)).findSlot(dottedKey, end + 1, true);
+    }
+
+    private @NotNull ConfigMap getOrCreateSection(final @NotNull String key) {
+        final Object value = super.get(key);
+
+        if (value instanceof ConfigMap) {
+            return (ConfigMap) value;
+        }
+
+        final ConfigMap section = Optional.ofNullable(ConfigMap.asConfigMap(value)).orElseGet(ConfigMap::new);
+        this.put(key, section);
+
+        return section;
+    }
+
+    public @NotNull List<@NotNull String> getComments(final @NotNull String key) {
+        return this.comments == null
+            ? Collections.emptyList()
+            : this.comments.getOrDefault(key, Collections.emptyList());
+    }
+
+    public @NotNull Map<@NotNull String, @NotNull List<@NotNull String>> getAllComments() {
+        return this.comments == null ? Collections.emptyMap() : Collections.unmodifiableMap(this.comments);
+    }
+
+    public void setComments(final @NotNull String key, final @NotNull List<@NotNull String> comments) {
+        this.checkMutable();
+
+        if (this.getComments(key).equals(comments)) {
+            return;
+        }
+
+        this.changed();
+
+        if (comments.isEmpty()) {
+            Objects.requireNonNull(this.comments).remove(key);
+            return;
+        }
+
+        if (this.comments == null) {
+            this.comments = new HashMap<>();
+        }
+
+        this.comments.put(key, Collections.unmodifiableList(new ArrayList<>(comments)));
+    }
+
+    public void putAllComments(final @NotNull ConfigMap other) {
+        this.checkMutable();
+
+        if (other.comments != null && !other.comments.isEmpty()) {
+            if (this.comments == null) {
+                this.comments = new HashMap<>();
+            }
+
+            /* Stored comment lists are already unmodifiable copies, so they can be shared between maps. */
+            for (final Map.Entry<String, List<String>> entry : other.comments.entrySet()) {
+                if (!entry.getValue().equals(this.comments.put(entry.getKey(), entry.getValue()))) {
+                    this.changed();
+                }
+            }
+        }
+    }
+
+    @Override
+    public @Nullable Object put(final @NotNull String key, final @Nullable Object value) {
+        this.checkMutable();
+
+        final boolean existed = super.containsKey(key);
+        final Object previous = super.put(key, value);
+
+        if (!existed || !Objects.equals(previous, value)) {
+            this.changed();
+        }
+
+        return previous;
+    }
+
+    @Override
+    public void putAll(final @NotNull Map<? extends @NotNull String, ? extends @Nullable Object> map) {
+        map.forEach(this::put);
+    }
+
+    @Override
+    public @Nullable Object remove(final @NotNull Object key) {
+        this.checkMutable();
+
+        if (super.containsKey(key)) {
+            this.changed();
+        }
+
+        return super.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.checkMutable();
+
+        if (!super.isEmpty()) {
+            this.changed();
+        }
+
+        super.clear();
+    }
+
+    @Override
+    public @Nullable Map.Entry<@NotNull String, @Nullable Object> pollFirstEntry() {
+        this.checkMutable();
+
+        if (!super.isEmpty()) {
+            this.changed();
+        }
+
+        return super.pollFirstEntry();
+    }
+
+    @Override
+    public @Nullable Map.Entry<@NotNull String, @Nullable Object> pollLastEntry() {
+        this.checkMutable();
+
+        if (!super.isEmpty()) {
+            this.changed();
+        }
+
+        return super.pollLastEntry();
+    }
+
+    @Override
+    public @Nullable Object putIfAbsent(final @NotNull String key, final @Nullable Object value) {
+        this.checkMutable();
+
+        final Object current = super.get(key);
+
+        return current == null ? this.put(key, value) : current;
+    }
+
+    @Override
+    public boolean remove(final @NotNull Object key, final @Nullable Object value) {
+        this.checkMutable();
+
+        if (super.containsKey(key) && Objects.equals(super.get(key), value)) {
+            this.remove(key);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public @Nullable Object replace(final @NotNull String key, final @Nullable Object value) {
+        this.checkMutable();
+
+        return super.containsKey(key) ? this.put(key, value) : null;
+    }
+
+    @Override
+    public boolean replace(
+            final @NotNull String key,
+            final @Nullable Object oldValue,
+            final @Nullable Object newValue
+    ) {
+        this.checkMutable();
+
+        if (super.containsKey(key) && Objects.equals(super.get(key), oldValue)) {
+            this.put(key, newValue);
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public void replaceAll(final @NotNull BiFunction<? super String, ? super Object, ?> function) {
+        this.checkMutable();
+
+        boolean changed = false;
+
+        for (final Map.Entry<String, Object> entry : super.entrySet()) {
+            final Object value = function.apply(entry.getKey(), entry.getValue());
+
+            if (!Objects.equals(value, entry.setValue(value))) {
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            this.changed();
+        }
+    }
+
+    @Override
+    public @Nullable Object computeIfAbsent(
+            final @NotNull String key,
+            final @NotNull Function<? super String, ?> function
+    ) {
+        this.checkMutable();
+
+        final Object current = super.get(key);
+
+        if (current != null) {
+            return current;
+        }
+
+        final Object value = function.apply(key);
+
+        if (value != null) {
+            this.put(key, value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public @Nullable Object computeIfPresent(
+            final @NotNull String key,
+            final @NotNull BiFunction<? super String, ? super Object, ?> function
+    ) {
+        this.checkMutable();
+
+        final Object current = super.get(key);
+
+        return current == null ? null : this.store(key, function.apply(key, current));
+    }
+
+    @Override
+    public @Nullable Object compute(
+            final @NotNull String key,
+            final @NotNull BiFunction<? super String, ? super Object, ?> function
+    ) {
+        this.checkMutable();
+
+        return this.store(key, function.apply(key, super.get(key)));
+    }
+
+    @Override
+    public @Nullable Object merge(
+            final @NotNull String key,
+            final @NotNull Object value,
+            final @NotNull BiFunction<? super Object, ? super Object, ?> function
+    ) {
+        this.checkMutable();
+
+        final Object current = super.get(key);
+
+        return this.store(key, current == null ? value : function.apply(current, value));
+    }
+
+    /* compute and merge remove the key when the function returns null */
+    private @Nullable Object store(final @NotNull String key, final @Nullable Object value) {
+        if (value == null) {
+            this.remove(key);
+        } else {
+            this.put(key, value);
+        }
+
+        return value;
+    }
+
+    /* Only the entry set writes through, the other views are read only. */
+    @Override
+    public @NotNull Set<Map.@NotNull Entry<@NotNull String, @Nullable Object>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Object>>() {
+            @Override
+            public @NotNull Iterator<Map.Entry<String, Object>> iterator() {
+                return new EntryIterator(ConfigMap.super.entrySet().iterator());
+            }
+
+            @Override
+            public int size() {
+                return ConfigMap.super.size();
+            }
+        };
+    }
+
+    @Override
+    public @NotNull Set<@NotNull String> keySet() {
+        return this.navigableKeySet();
+    }
+
+    @Override
+    public @NotNull NavigableSet<@NotNull String> navigableKeySet() {
+        return Collections.unmodifiableNavigableSet(super.navigableKeySet());
+    }
+
+    @Override
+    public @NotNull NavigableSet<@NotNull String> descendingKeySet() {
+        return Collections.unmodifiableNavigableSet(super.descendingKeySet());
+    }
+
+    @Override
+    public @NotNull Collection<@Nullable Object> values() {
+        return Collections.unmodifiableCollection(super.values());
+    }
+
+    @Override
+    public @NotNull NavigableMap<@NotNull String, @Nullable Object> descendingMap() {
+        return Collections.unmodifiableNavigableMap(super.descendingMap());
+    }
+
+    @Override
+    public @NotNull NavigableMap<@NotNull String, @Nullable Object> headMap(
+            final @NotNull String toKey,
+            final boolean inclusive
+    ) {
+        return Collections.unmodifiableNavigableMap(super.headMap(toKey, inclusive));
+    }
+
+    @Override
+    public @NotNull SortedMap<@NotNull String, @Nullable Object> headMap(final @NotNull String toKey) {
+        return this.headMap(toKey, false);
+    }
+
+    @Override
+    public @NotNull NavigableMap<@NotNull String, @Nullable Object> tailMap(
+            final @NotNull String fromKey,
+            final boolean inclusive
+    ) {
+        return Collections.unmodifiableNavigableMap(super.tailMap(fromKey, inclusive));
+    }
+
+    @Override
+    public @NotNull SortedMap<@NotNull String, @Nullable Object> tailMap(final @NotNull String fromKey) {
+        return this.tailMap(fromKey, true);
+    }
+
+    @Override
+    public @NotNull NavigableMap<@NotNull String, @Nullable Object> subMap(
+            final @NotNull String fromKey,
+            final boolean fromInclusive,
+            final @NotNull String toKey,
+            final boolean toInclusive
+    ) {
+        return Collections.unmodifiableNavigableMap(super.subMap(fromKey, fromInclusive, toKey, toInclusive));
+    }
+
+    @Override
+    public @NotNull SortedMap<@NotNull String, @Nullable Object> subMap(
+            final @NotNull String fromKey,
+            final @NotNull String toKey
+    ) {
+        return this.subMap(fromKey, true, toKey, false);
+    }
+
+    public @NotNull ConfigMap freeze() {
+        if (!this.frozen) {
+            super.entrySet().forEach(entry -> entry.setValue(ConfigMap.freezeValue(entry.getValue())));
+            this.frozen = true;
+        }
+
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /* Frozen copy that shares every unchanged subtree with the previous snapshot. */
+    public @NotNull ConfigMap snapshot() {
+        if (this.frozen) {
+            return this;
+        }
+
+        if (this.cachedSnapshot == null) {
+            final ConfigMap output = new ConfigMap();
+
+            super.forEach((key, value) -> output.put(key, this.snapshotValue(value)));
+
+            if (this.comments != null && !this.comments.isEmpty()) {
+                output.comments = new HashMap<>(this.comments);
+            }
+
+            output.modified = false;
+            output.frozen = true;
+            this.cachedSnapshot = output;
+        }
+
+        return this.cachedSnapshot;
+    }
+
+    private @Nullable Object snapshotValue(final @Nullable Object value) {
+        if (value instanceof ConfigMap) {
+            final ConfigMap section = (ConfigMap) value;
+
+            if (!section.frozen) {
+                section.owner = this;
+            }
+
+            return section.snapshot();
+        } else if (value instanceof List) {
+            final List<Object> output = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(child -> output.add(this.snapshotValue(child)));
+            return Collections.unmodifiableList(output);
+        }
+
+        return value;
+    }
+
+    private void changed() {
+        this.modified = true;
+
+        ConfigMap section = this;
+
+        while (section != null && section.cachedSnapshot != null) {
+            section.cachedSnapshot = null;
+            section = section.owner;
+        }
+    }
+
+    private static @Nullable Object freezeValue(final @Nullable Object value) {
+        if (value instanceof ConfigMap) {
+            return ((ConfigMap) value).freeze();
+        } else if (value instanceof List) {
+            final List<Object> output = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(child -> output.add(ConfigMap.freezeValue(child)));
+            return Collections.unmodifiableList(output);
+        }
+
+        return value;
+    }
+
+    private void checkMutable() {
+        if (this.frozen) {
+            throw new UnsupportedOperationException("Config snapshots are read only.");
+        }
+    }
+
+    public void markModified() {
+        this.changed();
+    }
+
+    /*
+     * True if this section or any section below it changed since the last clearModified call.
+     */
+    public boolean isModified() {
+        if (this.modified) {
+            return true;
+        }
+
+        for (final Object value : super.values()) {
+            if (value instanceof ConfigMap && ((ConfigMap) value).isModified()) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public void clearModified() {
+        this.modified = false;
+
+        super.values().forEach(value -> {
+            if (value instanceof ConfigMap) {
+                ((ConfigMap) value).clearModified();
+            }
+        });
+    }
+
+    private final class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+        private final @NotNull Iterator<Map.Entry<String, Object>> delegate;
+
+        private EntryIterator(final @NotNull Iterator<Map.Entry<String, Object>> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.delegate.hasNext();
+        }
+
+        @Override
+        public @NotNull Map.Entry<String, Object> next() {
+            return new TrackedEntry(this.delegate.next());
+        }
+
+        @Override
+        public void remove() {
+            ConfigMap.this.checkMutable();
+            this.delegate.remove();
+            ConfigMap.this.changed();
+        }
+    }
+
+    private final class TrackedEntry implements Map.Entry<String, Object> {
+        private final @NotNull Map.Entry<String, Object> delegate;
+
+        private TrackedEntry(final @NotNull Map.Entry<String, Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public @NotNull String getKey() {
+            return this.delegate.getKey();
+        }
+
+        @Override
+        public @Nullable Object getValue() {
+            return this.delegate.getValue();
+        }
+
+        @Override
+        public @Nullable Object setValue(final @Nullable Object value) {
+            ConfigMap.this.checkMutable();
+
+            final Object previous = this.delegate.setValue(value);
+
+            if (!Objects.equals(previous, value)) {
+                ConfigMap.this.changed();
+            }
+
+            return previous;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object other) {
+            return this.delegate.equals(other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.delegate.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return this.delegate.toString();
+        }
+    }
+
     @Override public String toString() {
         StringBuilder output = new StringBuilder();
 
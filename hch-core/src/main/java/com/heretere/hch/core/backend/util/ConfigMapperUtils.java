@@ -4,29 +4,27 @@ import com.heretere.hch.core.backend.map.ConfigMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.AbstractMap.SimpleImmutableEntry;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 public final class ConfigMapperUtils {
     private static final Pattern PERIOD_MATCHER = Pattern.compile("^(.*)\\.\\s*(.*)$");
-    private static final Pattern EMPTY_SPACE_PATTERN = Pattern.compile("[\\s|\"]+");
 
     private ConfigMapperUtils() {
         throw new IllegalStateException("Utility Class.");
     }
 
-    public static @NotNull String stripWhiteSpace(final @NotNull String string) {
-        return EMPTY_SPACE_PATTERN.matcher(string).replaceAll("");
-    }
-
     public static @Nullable String getEverythingAfterLastPeriod(final @NotNull String name) {
         final Matcher matcher = ConfigMapperUtils.PERIOD_MATCHER.matcher(name);
 
@@ -47,43 +45,44 @@ public final class ConfigMapperUtils {
         return matcher.group(1);
     }
 
-    public static @NotNull ConfigMap deflateMap(final @NotNull ConfigMap configMap) {
-        final ConfigMap newMap = new ConfigMap();
-
-        configMap.forEach((key, value) -> {
-            if (!key.contains(".")) {
-                newMap.put(key, value);
-            }
-        });
+    public static @NotNull String getFirstSegment(final @NotNull String dottedKey) {
+        final int end = dottedKey.indexOf(ConfigMap.PATH_SEPARATOR);
 
-        return newMap.containsKey("") ? (ConfigMap) Objects.requireNonNull(newMap.get("")) : newMap;
+        return end == -1 ? dottedKey : dottedKey.substring(0, end);
     }
 
-    public static @NotNull ConfigMap inflateMap(final @NotNull ConfigMap configMap) {
-        return ConfigMapperUtils.inflateMap("", new ConfigMap(), configMap);
+    public static @NotNull ConfigMap toConfigTree(final @NotNull Map<?, ?> map) {
+        final ConfigMap output = map instanceof ConfigMap ? (ConfigMap) map : ConfigMap.copy(map);
+
+        output.entrySet()
+            .forEach(entry -> {
+                if (entry.getValue() instanceof Map) {
+                    entry.setValue(ConfigMapperUtils.toConfigTree((Map<?, ?>) entry.getValue()));
+                }
+            });
+
+        return output;
     }
 
-    private static @NotNull ConfigMap inflateMap(
-            final @NotNull String parentKey,
-            final @NotNull ConfigMap configMap,
-            final @NotNull Map<?, ?> rawMap
-    ) {
-        final String dottedParentKey = parentKey + (parentKey.isEmpty() ? "" : ".");
-
-        rawMap.forEach((key, value) -> {
-            final String childKey = dottedParentKey + key;
-            if (value instanceof Map) {
-                configMap.put(childKey, new ConfigMap());
-                ConfigMapperUtils.inflateMap(childKey, configMap, (Map<?, ?>) value);
-            } else {
-                configMap.put(childKey, value);
-            }
+    public static @NotNull ConfigMap deepCopy(final @NotNull ConfigMap map) {
+        final ConfigMap output = ConfigMap.copy(map);
 
-            Optional.ofNullable(configMap.get(parentKey))
-                .ifPresent(map -> ((ConfigMap) map).put(key.toString(), value));
-        });
+        output.entrySet()
+            .forEach(entry -> entry.setValue(ConfigMapperUtils.deepCopyValue(entry.getValue())));
 
-        return configMap;
+        return output;
+    }
+
+    private static @Nullable Object deepCopyValue(final @Nullable Object value) {
+        if (value instanceof Map) {
+            return ConfigMapperUtils.deepCopy(Objects.requireNonNull(ConfigMap.asConfigMap(value)));
+        } else if (value instanceof Collection) {
+            final List<Object> output = new ArrayList<>();
+            ((Collection<?>) value).forEach(child -> output.add(ConfigMapperUtils.deepCopyValue(child)));
+            return output;
+        }
+
+        return value;
     }
 
     @SuppressWarnings("unchecked")
@@ -95,16 +94,8 @@ public final class ConfigMapperUtils {
         original.keySet()
             .forEach(key -> {
                 if (newMap.get(key) instanceof Map && original.get(key) instanceof Map) {
-                    final Map<?, ?> originalChildRaw = (Map<?, ?>) Objects.requireNonNull(original.get(key));
-                    final Map<?, ?> newChildRaw = (Map<?, ?>) Objects.requireNonNull(newMap.get(key));
-
-                    final ConfigMap originalChild = originalChildRaw instanceof ConfigMap
-                        ? (ConfigMap) originalChildRaw
-                        : ConfigMap.copy(originalChildRaw);
-
-                    final ConfigMap newChild = newChildRaw instanceof ConfigMap
-                        ? (ConfigMap) newChildRaw
-                        : ConfigMap.copy(newChildRaw);
+                    final ConfigMap originalChild = Objects.requireNonNull(ConfigMap.asConfigMap(original.get(key)));
+                    final ConfigMap newChild = Objects.requireNonNull(ConfigMap.asConfigMap(newMap.get(key)));
 
                     original.put(
                         key,
@@ -122,11 +113,18 @@ public final class ConfigMapperUtils {
                         newMap.get(key)
                     );
 
+                    final List<Object> previous = new ArrayList<>(originalChild);
+
                     originalChild.clear();
 
                     newChild.stream()
                         .filter(each -> !originalChild.contains(each))
                         .forEach(originalChild::add);
+
+                    /* The collection is changed in place, so the section has to be flagged by hand. */
+                    if (!previous.equals(new ArrayList<>(originalChild))) {
+                        original.markModified();
+                    }
                 } else {
                     Optional.ofNullable(newMap.get(key))
                         .ifPresent(value -> original.put(key, value));
@@ -140,42 +138,73 @@ public final class ConfigMapperUtils {
                 }
             });
 
+        original.putAllComments(newMap);
+
         return original;
     }
 
-    public static @NotNull List<@NotNull SimpleImmutableEntry<@NotNull String, @NotNull List<String>>> extractComments(
-            final @NotNull List<@NotNull SimpleImmutableEntry<@NotNull String, @NotNull List<String>>> comments,
-            final @NotNull ConfigMap configMap
+    /*
+     * True if the tree has a key, at any depth, that the other tree has no value for.
+     */
+    public static boolean hasKeysMissingFrom(final @NotNull Map<?, ?> tree, final @NotNull Map<?, ?> other) {
+        for (final Map.Entry<?, ?> entry : tree.entrySet()) {
+            final Object otherValue = other.get(entry.getKey());
+
+            if (otherValue == null) {
+                return true;
+            }
+
+            if (entry.getValue() instanceof Map
+                && otherValue instanceof Map
+                && ConfigMapperUtils.hasKeysMissingFrom((Map<?, ?>) entry.getValue(), (Map<?, ?>) otherValue)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /* Sections that are the same instance on both sides are skipped without looking inside. */
+    public static @NotNull Set<@NotNull String> diff(final @NotNull ConfigMap before, final @NotNull ConfigMap after) {
+        final Set<String> output = new TreeSet<>();
+        ConfigMapperUtils.diff("", before, after, output);
+        return output;
+    }
+
+    private static void diff(
+            final @NotNull String prefix,
+            final @NotNull ConfigMap before,
+            final @NotNull ConfigMap after,
+            final @NotNull Set<@NotNull String> output
     ) {
-        final List<String> commentKeys = new ArrayList<>();
-
-        configMap.forEach((key, value) -> {
-            if (key.contains("_comments_") && value instanceof Collection) {
-                commentKeys.add(key);
-                comments.add(
-                    new SimpleImmutableEntry<>(
-                            key.replace("_comments_", ""),
-                            ConfigMapperUtils.convertCollection((Collection<?>) value)
-                    )
-                );
-            } else if (value instanceof Map) {
-                ConfigMapperUtils.extractComments(
-                    comments,
-                    value instanceof ConfigMap
-                        ? (ConfigMap) value
-                        : ConfigMap.copy((Map<?, ?>) value)
-                );
+        if (before == after) {
+            return;
+        }
+
+        final Set<String> keys = new TreeSet<>(before.keySet());
+        keys.addAll(after.keySet());
+
+        keys.forEach(key -> {
+            final String path = prefix.isEmpty() ? key : prefix + ConfigMap.PATH_SEPARATOR + key;
+            final Object beforeValue = before.get(key);
+            final Object afterValue = after.get(key);
+
+            if (beforeValue instanceof ConfigMap && afterValue instanceof ConfigMap) {
+                ConfigMapperUtils.diff(path, (ConfigMap) beforeValue, (ConfigMap) afterValue, output);
+            } else if (before.containsKey(key) != after.containsKey(key) || !Objects.equals(beforeValue, afterValue)) {
+                output.add(path);
             }
         });
+    }
 
-        commentKeys.forEach(configMap::remove);
+    public static @NotNull String formatComment(final @NotNull String comment, final @NotNull String prefix) {
+        final String trimmed = comment.trim();
 
-        return comments;
+        return trimmed.startsWith(prefix) ? trimmed : prefix + " " + trimmed;
     }
 
-    private static List<String> convertCollection(final @NotNull Collection<?> collection) {
-        return collection.stream()
-            .map(Object::toString)
-            .collect(Collectors.toList());
+    /* ISO-8601 in UTC, which is also how YAML writes timestamps. */
+    public static @NotNull String formatTimestamp(final @NotNull Date date) {
+        return DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochMilli(date.getTime()));
     }
 }
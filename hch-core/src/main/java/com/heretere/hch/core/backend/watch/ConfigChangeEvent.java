@@ -0,0 +1,43 @@
+package com.heretere.hch.core.backend.watch;
+
+import java.util.Optional;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.heretere.hch.core.HCHConfig;
+
+public final class ConfigChangeEvent<T> {
+    private final @NotNull HCHConfig config;
+    private final @NotNull String key;
+    private final @Nullable T oldValue;
+    private final @Nullable T newValue;
+
+    public ConfigChangeEvent(
+            final @NotNull HCHConfig config,
+            final @NotNull String key,
+            final @Nullable T oldValue,
+            final @Nullable T newValue
+    ) {
+        this.config = config;
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    public @NotNull HCHConfig getConfig() {
+        return this.config;
+    }
+
+    public @NotNull String getKey() {
+        return this.key;
+    }
+
+    public @NotNull Optional<@NotNull T> getOldValue() {
+        return Optional.ofNullable(this.oldValue);
+    }
+
+    public @NotNull Optional<@NotNull T> getNewValue() {
+        return Optional.ofNullable(this.newValue);
+    }
+}
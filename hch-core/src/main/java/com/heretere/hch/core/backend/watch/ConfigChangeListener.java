@@ -0,0 +1,12 @@
+package com.heretere.hch.core.backend.watch;
+
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.core.HCHConfig;
+
+@FunctionalInterface
+public interface ConfigChangeListener {
+    void onChange(@NotNull HCHConfig config, @NotNull Set<@NotNull String> changedKeys);
+}
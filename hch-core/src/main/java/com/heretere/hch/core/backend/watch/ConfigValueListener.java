@@ -0,0 +1,8 @@
+package com.heretere.hch.core.backend.watch;
+
+import org.jetbrains.annotations.NotNull;
+
+@FunctionalInterface
+public interface ConfigValueListener<T> {
+    void onChange(@NotNull ConfigChangeEvent<T> event);
+}
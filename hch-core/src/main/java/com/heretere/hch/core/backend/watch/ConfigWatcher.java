@@ -0,0 +1,183 @@
+package com.heretere.hch.core.backend.watch;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+import org.jetbrains.annotations.NotNull;
+
+/* Directories are watched instead of files so saves that rename a temp file are picked up too. */
+public final class ConfigWatcher implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(ConfigWatcher.class.getName());
+
+    private final @NotNull Path root;
+    private final long debounceNanos;
+    private final @NotNull Consumer<@NotNull Path> callback;
+    private final @NotNull WatchService watchService;
+    private final @NotNull Map<@NotNull WatchKey, @NotNull Path> directories;
+    private final @NotNull Map<@NotNull Path, @NotNull Long> pending;
+    private final @NotNull Thread thread;
+
+    public ConfigWatcher(
+            final @NotNull Path root,
+            final long debounceMillis,
+            final @NotNull Consumer<@NotNull Path> callback
+    ) throws IOException {
+        this.root = root;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.callback = callback;
+        this.directories = new HashMap<>();
+        this.pending = new LinkedHashMap<>();
+
+        Files.createDirectories(root);
+        this.watchService = root.getFileSystem().newWatchService();
+        this.registerAll(root);
+
+        this.thread = new Thread(this::run, "hch-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        this.thread.start();
+    }
+
+    private void registerAll(final @NotNull Path start) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(
+                    final @NotNull Path directory,
+                    final @NotNull BasicFileAttributes attributes
+            ) throws IOException {
+                ConfigWatcher.this.directories.put(
+                    directory.register(
+                        ConfigWatcher.this.watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY
+                    ),
+                    directory
+                );
+
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final WatchKey key = this.pending.isEmpty()
+                    ? this.watchService.take()
+                    : this.watchService.poll(this.nanosUntilNextDue(), TimeUnit.NANOSECONDS);
+
+                if (key != null) {
+                    this.handle(key);
+                }
+
+                this.fireDue();
+            }
+        } catch (ClosedWatchServiceException e) {
+            /* Closed through close(), nothing left to do. */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void handle(final @NotNull WatchKey key) {
+        final Path directory = this.directories.get(key);
+
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                /* Events were dropped, so any file under the root may have changed. */
+                this.scheduleAll(this.root);
+            } else if (directory != null) {
+                final Path path = directory.resolve((Path) event.context());
+
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                        && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        this.registerAll(path);
+                    } catch (IOException e) {
+                        ConfigWatcher.LOGGER.log(Level.WARNING, String.format("Couldn't watch '%s'.", path), e);
+                    }
+
+                    /* Files can land in a new directory before it is registered. */
+                    this.scheduleAll(path);
+                } else {
+                    this.schedule(path);
+                }
+            }
+        }
+
+        if (!key.reset()) {
+            this.directories.remove(key);
+        }
+    }
+
+    private void schedule(final @NotNull Path path) {
+        this.pending.put(path, System.nanoTime() + this.debounceNanos);
+    }
+
+    private void scheduleAll(final @NotNull Path start) {
+        try (Stream<Path> files = Files.walk(start)) {
+            files.filter(Files::isRegularFile).forEach(this::schedule);
+        } catch (IOException e) {
+            ConfigWatcher.LOGGER.log(Level.WARNING, String.format("Couldn't list '%s'.", start), e);
+        }
+    }
+
+    private long nanosUntilNextDue() {
+        final long now = System.nanoTime();
+
+        return this.pending.values()
+            .stream()
+            .mapToLong(due -> Math.max(0L, due - now))
+            .min()
+            .orElse(0L);
+    }
+
+    private void fireDue() {
+        final long now = System.nanoTime();
+        final Iterator<Map.Entry<Path, Long>> iterator = this.pending.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            final Map.Entry<Path, Long> entry = iterator.next();
+
+            if (entry.getValue() - now <= 0) {
+                iterator.remove();
+
+                try {
+                    this.callback.accept(entry.getKey());
+                } catch (Exception e) {
+                    ConfigWatcher.LOGGER.log(
+                        Level.WARNING,
+                        String.format("Couldn't handle a change to '%s'.", entry.getKey()),
+                        e
+                    );
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.watchService.close();
+    }
+}
@@ -0,0 +1,225 @@
+package com.heretere.hch.core.backend.watch;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+/* A key matches its whole subtree, a key followed by '.*' each direct child separately. */
+public final class ListenerTrie {
+    private static final Logger LOGGER = Logger.getLogger(ListenerTrie.class.getName());
+    private static final String WILDCARD = "*";
+
+    private final @NotNull Node root;
+    private final @NotNull AtomicInteger size;
+
+    public ListenerTrie() {
+        this.root = new Node();
+        this.size = new AtomicInteger();
+    }
+
+    public <T> @NotNull Subscription<T> subscribe(
+            final @NotNull String pattern,
+            final @NotNull Class<T> type,
+            final @NotNull ConfigValueListener<T> listener
+    ) {
+        final Subscription<T> subscription = new Subscription<>(this, pattern, type, listener);
+        final Node parent = this.getNode(pattern);
+
+        if (ListenerTrie.isWildcard(pattern)) {
+            parent.wildcardSubscriptions.add(subscription);
+        } else {
+            parent.subscriptions.add(subscription);
+        }
+
+        this.size.incrementAndGet();
+
+        return subscription;
+    }
+
+    void remove(final @NotNull Subscription<?> subscription) {
+        final Node parent = this.getNode(subscription.getPattern());
+
+        if (parent.subscriptions.remove(subscription) || parent.wildcardSubscriptions.remove(subscription)) {
+            this.size.decrementAndGet();
+        }
+    }
+
+    public boolean isEmpty() {
+        return this.size.get() == 0;
+    }
+
+    private static boolean isWildcard(final @NotNull String pattern) {
+        return pattern.equals(ListenerTrie.WILDCARD)
+            || pattern.endsWith(ConfigMap.PATH_SEPARATOR + ListenerTrie.WILDCARD);
+    }
+
+    private @NotNull Node getNode(final @NotNull String pattern) {
+        final String key;
+
+        if (ListenerTrie.isWildcard(pattern)) {
+            key = pattern.substring(0, Math.max(0, pattern.length() - ListenerTrie.WILDCARD.length() - 1));
+        } else {
+            key = pattern;
+        }
+
+        Node node = this.root;
+
+        if (key.isEmpty()) {
+            return node;
+        }
+
+        for (final String segment : key.split("\\" + ConfigMap.PATH_SEPARATOR, -1)) {
+            if (segment.isEmpty() || segment.contains(ListenerTrie.WILDCARD)) {
+                throw new IllegalArgumentException(
+                        String.format(
+                            "Invalid listener pattern '%s', only a trailing '.*' is supported.",
+                            pattern
+                        )
+                );
+            }
+
+            node = node.children.computeIfAbsent(segment, ignored -> new Node());
+        }
+
+        return node;
+    }
+
+    public void dispatch(
+            final @NotNull Gson gson,
+            final @NotNull HCHConfig config,
+            final @NotNull ConfigMap before,
+            final @NotNull ConfigMap after,
+            final @NotNull Set<@NotNull String> changedKeys
+    ) {
+        final Map<String, Set<Subscription<?>>> matches = new LinkedHashMap<>();
+
+        changedKeys.forEach(changed -> this.collect(changed, before, after, matches));
+
+        matches.forEach((key, subscriptions) -> {
+            final Object oldValue = before.getPath(key);
+            final Object newValue = after.getPath(key);
+
+            if (Objects.equals(oldValue, newValue)) {
+                return;
+            }
+
+            subscriptions.forEach(subscription -> {
+                try {
+                    subscription.fire(gson, config, key, oldValue, newValue);
+                } catch (Exception e) {
+                    ListenerTrie.LOGGER.log(
+                        Level.WARNING,
+                        String.format("Listener for '%s' in '%s' failed.", key, config.getFileLocation()),
+                        e
+                    );
+                }
+            });
+        });
+    }
+
+    private void collect(
+            final @NotNull String changed,
+            final @NotNull ConfigMap before,
+            final @NotNull ConfigMap after,
+            final @NotNull Map<@NotNull String, @NotNull Set<@NotNull Subscription<?>>> matches
+    ) {
+        Node node = this.root;
+        String path = "";
+        int start = 0;
+
+        while (true) {
+            ListenerTrie.match(path, node.subscriptions, matches);
+
+            if (start > changed.length()) {
+                /* The change replaced this whole subtree, so everything subscribed below it is affected too. */
+                this.collectBelow(node, path, before, after, matches);
+                return;
+            }
+
+            int end = changed.indexOf(ConfigMap.PATH_SEPARATOR, start);
+
+            if (end == -1) {
+                end = changed.length();
+            }
+
+            final String segment = changed.substring(start, end);
+            final String childPath = ListenerTrie.join(path, segment);
+
+            ListenerTrie.match(childPath, node.wildcardSubscriptions, matches);
+
+            node = node.children.get(segment);
+
+            if (node == null) {
+                return;
+            }
+
+            path = childPath;
+            start = end + 1;
+        }
+    }
+
+    private void collectBelow(
+            final @NotNull Node node,
+            final @NotNull String path,
+            final @NotNull ConfigMap before,
+            final @NotNull ConfigMap after,
+            final @NotNull Map<@NotNull String, @NotNull Set<@NotNull Subscription<?>>> matches
+    ) {
+        if (!node.wildcardSubscriptions.isEmpty()) {
+            final Set<String> keys = new TreeSet<>();
+            ListenerTrie.addKeys(before.getPath(path), keys);
+            ListenerTrie.addKeys(after.getPath(path), keys);
+
+            keys.forEach(key -> ListenerTrie.match(ListenerTrie.join(path, key), node.wildcardSubscriptions, matches));
+        }
+
+        node.children.forEach((segment, child) -> {
+            final String childPath = ListenerTrie.join(path, segment);
+
+            ListenerTrie.match(childPath, child.subscriptions, matches);
+            this.collectBelow(child, childPath, before, after, matches);
+        });
+    }
+
+    private static void addKeys(final @Nullable Object section, final @NotNull Set<@NotNull String> keys) {
+        if (section instanceof Map) {
+            ((Map<?, ?>) section).keySet().forEach(key -> keys.add(key.toString()));
+        }
+    }
+
+    private static void match(
+            final @NotNull String key,
+            final @NotNull List<@NotNull Subscription<?>> subscriptions,
+            final @NotNull Map<@NotNull String, @NotNull Set<@NotNull Subscription<?>>> matches
+    ) {
+        if (!subscriptions.isEmpty()) {
+            matches.computeIfAbsent(key, ignored -> new LinkedHashSet<>()).addAll(subscriptions);
+        }
+    }
+
+    private static @NotNull String join(final @NotNull String path, final @NotNull String segment) {
+        return path.isEmpty() ? segment : path + ConfigMap.PATH_SEPARATOR + segment;
+    }
+
+    private static final class Node {
+        private final @NotNull Map<@NotNull String, @NotNull Node> children = new ConcurrentHashMap<>();
+        private final @NotNull List<@NotNull Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+        private final @NotNull List<@NotNull Subscription<?>> wildcardSubscriptions = new CopyOnWriteArrayList<>();
+    }
+}
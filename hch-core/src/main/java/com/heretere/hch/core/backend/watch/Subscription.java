@@ -0,0 +1,55 @@
+package com.heretere.hch.core.backend.watch;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.backend.binder.POJOBinder;
+
+public final class Subscription<T> {
+    private final @NotNull ListenerTrie trie;
+    private final @NotNull String pattern;
+    private final @NotNull Class<T> type;
+    private final @NotNull ConfigValueListener<T> listener;
+
+    Subscription(
+            final @NotNull ListenerTrie trie,
+            final @NotNull String pattern,
+            final @NotNull Class<T> type,
+            final @NotNull ConfigValueListener<T> listener
+    ) {
+        this.trie = trie;
+        this.pattern = pattern;
+        this.type = type;
+        this.listener = listener;
+    }
+
+    void fire(
+            final @NotNull Gson gson,
+            final @NotNull HCHConfig config,
+            final @NotNull String key,
+            final @Nullable Object oldValue,
+            final @Nullable Object newValue
+    ) {
+        this.listener.onChange(
+            new ConfigChangeEvent<>(config, key, this.convert(gson, oldValue), this.convert(gson, newValue))
+        );
+    }
+
+    private @Nullable T convert(final @NotNull Gson gson, final @Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        return this.type.isInstance(value) ? this.type.cast(value) : POJOBinder.read(gson, value, this.type);
+    }
+
+    public @NotNull String getPattern() {
+        return this.pattern;
+    }
+
+    public void unsubscribe() {
+        this.trie.remove(this);
+    }
+}
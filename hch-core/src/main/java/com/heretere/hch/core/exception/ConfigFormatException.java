@@ -0,0 +1,18 @@
+package com.heretere.hch.core.exception;
+
+import java.io.IOException;
+
+import org.jetbrains.annotations.NotNull;
+
+/* Thrown when a document or value isn't valid for its format, as opposed to the I/O failing. */
+public class ConfigFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    public ConfigFormatException(final @NotNull String message) {
+        super(message);
+    }
+
+    public ConfigFormatException(final @NotNull String message, final @NotNull Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -6,4 +6,8 @@ public class InvalidPojoException extends RuntimeException {
     public InvalidPojoException(final @NotNull String message) {
         super(message);
     }
+
+    public InvalidPojoException(final @NotNull String message, final @NotNull Throwable cause) {
+        super(message, cause);
+    }
 }
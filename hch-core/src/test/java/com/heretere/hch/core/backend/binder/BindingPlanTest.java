@@ -0,0 +1,107 @@
+package com.heretere.hch.core.backend.binder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.annotations.SerializedName;
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.annotation.POJOKey;
+import com.heretere.hch.core.backend.map.ConfigMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BindingPlanTest {
+    static class Base {
+        int inherited = 1;
+    }
+
+    @ConfigFile("test.yml")
+    @POJOKey("settings")
+    static class Settings extends Base {
+        int count = 2;
+        boolean enabled;
+        String name = "default";
+        String missing;
+        @SerializedName(value = "display", alternate = "title")
+        String displayName = "Shop";
+        List<String> items = new ArrayList<>(Arrays.asList("axe", "sword"));
+        Nested nested = new Nested();
+        Object loose = 5;
+        transient int cached = 7;
+    }
+
+    static class Nested {
+        double price = 2.5;
+    }
+
+    private static ConfigMap section(final Gson gson, final Object value) {
+        return (ConfigMap) POJOBinder.write(gson, value);
+    }
+
+    @Test
+    void writesTheSameSectionAsGson() {
+        final Gson gson = new Gson();
+        final Settings settings = new Settings();
+        settings.enabled = true;
+
+        assertTrue(BindingPlan.of(Settings.class).canBindFields(gson));
+        assertEquals(BindingPlanTest.section(gson, settings), POJOBinder.writeSection(gson, settings));
+    }
+
+    @Test
+    void readsTheSameValuesAsGson() {
+        final Gson gson = new Gson();
+        final ConfigMap section = new ConfigMap();
+        section.put("count", "12");
+        section.put("enabled", true);
+        section.put("inherited", 4);
+        section.put("title", "Market");
+        section.put("items", Arrays.asList("bow"));
+        section.putPath("nested.price", 9);
+        section.put("name", null);
+        section.put("unknown", "ignored");
+
+        final Settings bound = POJOBinder.read(gson, section, Settings.class);
+        final Settings reflective = gson.fromJson(POJOBinder.toJsonElement(section), Settings.class);
+
+        assertEquals(BindingPlanTest.section(gson, reflective), BindingPlanTest.section(gson, bound));
+        assertEquals(12, bound.count);
+        assertEquals(4, bound.inherited);
+        assertEquals("Market", bound.displayName);
+        assertNull(bound.name);
+        assertEquals(7, bound.cached);
+    }
+
+    @Test
+    void customAdaptersAndNamingAreLeftToGson() {
+        final Gson adapted = new GsonBuilder()
+            .registerTypeAdapter(Settings.class, (JsonSerializer<Settings>) (src, type, context) ->
+                new JsonPrimitive("custom"))
+            .create();
+        final Gson deserialized = new GsonBuilder()
+            .registerTypeAdapter(Settings.class, (JsonDeserializer<Settings>) (json, type, context) -> new Settings())
+            .create();
+        final Gson named = new GsonBuilder()
+            .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)
+            .create();
+        final Gson excluding = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+
+        assertFalse(BindingPlan.of(Settings.class).canBindFields(adapted));
+        assertFalse(BindingPlan.of(Settings.class).canBindFields(deserialized));
+        assertFalse(BindingPlan.of(Settings.class).canBindFields(named));
+        assertFalse(BindingPlan.of(Settings.class).canBindFields(excluding));
+        assertTrue(POJOBinder.writeSection(named, new Settings()).containsKey("Count"));
+    }
+}
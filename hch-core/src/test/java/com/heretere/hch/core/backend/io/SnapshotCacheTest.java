@@ -0,0 +1,149 @@
+package com.heretere.hch.core.backend.io;
+
+import com.heretere.hch.core.backend.map.ConfigMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnapshotCacheTest {
+    @TempDir
+    Path directory;
+
+    private Path source;
+    private SnapshotCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.source = this.directory.resolve("configs").resolve("test.yml");
+        Files.createDirectories(this.source.getParent());
+        this.cache = new SnapshotCache(this.directory.resolve("cache"), this.source.getParent());
+    }
+
+    private byte[] writeSource(final String contents) throws IOException {
+        final byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+        Files.write(this.source, bytes);
+
+        return Fingerprints.newDigest().digest(bytes);
+    }
+
+    private void record(final byte[] fingerprint, final long recordedAt) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(this.source, BasicFileAttributes.class);
+
+        this.cache.write(this.source, attributes, recordedAt, fingerprint, SnapshotCacheTest.tree());
+    }
+
+    private void record(final byte[] fingerprint) throws IOException {
+        this.record(fingerprint, System.currentTimeMillis());
+    }
+
+    private void backdateSource() throws IOException {
+        final long hourAgo = System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1);
+
+        Files.setLastModifiedTime(this.source, FileTime.fromMillis(hourAgo));
+    }
+
+    private void rewriteKeepingSizeAndTime(final String contents) throws IOException {
+        final FileTime modified = Files.getLastModifiedTime(this.source);
+        this.writeSource(contents);
+        Files.setLastModifiedTime(this.source, modified);
+    }
+
+    private static ConfigMap tree() {
+        final ConfigMap tree = new ConfigMap();
+        tree.putPath("shop.title", "Shop");
+        tree.putPath("shop.price", 4.5D);
+        tree.putPath("shop.stock", 12);
+        tree.putPath("shop.exact", new BigDecimal("1.10"));
+        tree.putPath("shop.items", Arrays.asList("axe", null, true));
+        tree.setPathComments("shop.title", Collections.singletonList("# shown in the menu"));
+
+        return tree;
+    }
+
+    @Test
+    void unchangedSourceIsAHit() throws IOException {
+        final byte[] fingerprint = this.writeSource("shop: {}\n");
+        this.record(fingerprint);
+
+        final Optional<SnapshotCache.Hit> hit = this.cache.read(this.source);
+
+        assertTrue(hit.isPresent());
+        assertEquals(SnapshotCacheTest.tree(), hit.get().getTree());
+        assertEquals(
+            Collections.singletonList("# shown in the menu"),
+            hit.get().getTree().getPathComments("shop.title")
+        );
+        assertArrayEquals(fingerprint, hit.get().getFingerprint());
+    }
+
+    @Test
+    void resizedSourceIsAMiss() throws IOException {
+        this.record(this.writeSource("shop: {}\n"));
+        this.writeSource("shop: {title: Other}\n");
+
+        assertFalse(this.cache.read(this.source).isPresent());
+    }
+
+    @Test
+    void sourceEditedWithinTheSameSizeAndTimeIsAMiss() throws IOException {
+        this.record(this.writeSource("value: 1\n"));
+        this.rewriteKeepingSizeAndTime("value: 2\n");
+
+        assertFalse(this.cache.read(this.source).isPresent());
+    }
+
+    @Test
+    void sourceOlderThanTheTimeResolutionIsMatchedBySizeAndTime() throws IOException {
+        final byte[] fingerprint = this.writeSource("value: 1\n");
+        this.backdateSource();
+        this.record(fingerprint);
+        this.rewriteKeepingSizeAndTime("value: 2\n");
+
+        assertTrue(this.cache.read(this.source).isPresent());
+    }
+
+    @Test
+    void racyEntryIsHashedOnceAndThenMatchedBySizeAndTime() throws IOException {
+        final byte[] fingerprint = this.writeSource("value: 1\n");
+        this.backdateSource();
+        this.record(fingerprint, Files.getLastModifiedTime(this.source).toMillis());
+
+        assertTrue(this.cache.read(this.source).isPresent());
+
+        this.rewriteKeepingSizeAndTime("value: 2\n");
+
+        assertTrue(this.cache.read(this.source).isPresent());
+    }
+
+    @Test
+    void corruptCacheFileIsAMiss() throws IOException {
+        this.record(this.writeSource("shop: {}\n"));
+
+        try (Stream<Path> files = Files.walk(this.directory.resolve("cache"))) {
+            final Path cacheFile = files.filter(Files::isRegularFile).findFirst().orElseThrow(AssertionError::new);
+            final byte[] bytes = Files.readAllBytes(cacheFile);
+
+            Files.write(cacheFile, Arrays.copyOf(bytes, bytes.length / 2));
+        }
+
+        assertFalse(this.cache.read(this.source).isPresent());
+    }
+}
@@ -0,0 +1,204 @@
+package com.heretere.hch.core.backend.map;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigMapTest {
+    @Test
+    void putPathCreatesNestedSections() {
+        final ConfigMap map = new ConfigMap();
+        map.putPath("a.b.c", 1);
+
+        assertEquals(1, map.getPath("a.b.c"));
+        assertTrue(map.get("a") instanceof ConfigMap);
+        assertTrue(((ConfigMap) map.get("a")).get("b") instanceof ConfigMap);
+        assertNull(map.getPath("a.b.d"));
+        assertSame(map, map.getPath(""));
+    }
+
+    @Test
+    void dottedKeysCanBeReadAndWrittenByName() {
+        final ConfigMap versions = new ConfigMap();
+        versions.put("1.16", "nether");
+
+        final ConfigMap map = new ConfigMap();
+        map.put("versions", versions);
+        map.put("1.8", "combat");
+
+        assertEquals("combat", map.getPath("1.8"));
+        assertEquals("nether", map.getPath("versions.1.16"));
+
+        map.putPath("versions.1.16", "caves");
+        map.putPath("1.8", "legacy");
+
+        assertEquals("caves", versions.get("1.16"));
+        assertEquals("legacy", map.get("1.8"));
+        assertNull(map.get("1"));
+        assertNull(versions.get("1"));
+    }
+
+    @Test
+    void dottedSectionNamesCanBeTraversed() {
+        final ConfigMap section = new ConfigMap();
+        section.put("enabled", true);
+
+        final ConfigMap map = new ConfigMap();
+        map.put("1.16", section);
+
+        assertEquals(true, map.getPath("1.16.enabled"));
+
+        map.putPath("1.16.enabled", false);
+        map.setPathComments("1.16.enabled", Collections.singletonList("toggle"));
+
+        assertEquals(false, section.get("enabled"));
+        assertEquals(Collections.singletonList("toggle"), map.getPathComments("1.16.enabled"));
+        assertNull(map.get("1"));
+    }
+
+    private static List<Consumer<ConfigMap>> mutators() {
+        return Arrays.asList(
+            map -> map.put("a", 2),
+            map -> map.putAll(Collections.singletonMap("z", 1)),
+            map -> map.putIfAbsent("z", 1),
+            map -> map.remove("a"),
+            map -> map.remove("a", 1),
+            map -> map.replace("a", 2),
+            map -> map.replace("a", 1, 2),
+            map -> map.replaceAll((key, value) -> 2),
+            map -> map.computeIfAbsent("z", key -> 1),
+            map -> map.computeIfPresent("a", (key, value) -> 2),
+            map -> map.compute("a", (key, value) -> 2),
+            map -> map.merge("a", 1, (left, right) -> 2),
+            map -> map.clear(),
+            map -> map.pollFirstEntry(),
+            map -> map.pollLastEntry(),
+            map -> map.entrySet().iterator().next().setValue(2),
+            map -> {
+                final Iterator<Map.Entry<String, Object>> iterator = map.entrySet().iterator();
+                iterator.next();
+                iterator.remove();
+            },
+            map -> map.setComments("a", Collections.singletonList("comment"))
+        );
+    }
+
+    private static ConfigMap sample() {
+        final ConfigMap map = new ConfigMap();
+        map.put("a", 1);
+        map.put("b", 3);
+        map.clearModified();
+
+        return map;
+    }
+
+    @Test
+    void frozenMapRejectsEveryMutator() {
+        for (final Consumer<ConfigMap> mutator : ConfigMapTest.mutators()) {
+            final ConfigMap map = ConfigMapTest.sample().freeze();
+
+            assertThrows(UnsupportedOperationException.class, () -> mutator.accept(map));
+            assertEquals(1, map.get("a"));
+            assertEquals(2, map.size());
+        }
+    }
+
+    @Test
+    void viewsAreReadOnly() {
+        final ConfigMap map = ConfigMapTest.sample();
+
+        assertThrows(UnsupportedOperationException.class, () -> map.keySet().remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.values().clear());
+        assertThrows(UnsupportedOperationException.class, () -> map.headMap("b").clear());
+        assertThrows(UnsupportedOperationException.class, () -> map.tailMap("a").put("c", 1));
+        assertThrows(UnsupportedOperationException.class, () -> map.subMap("a", "c").remove("a"));
+        assertThrows(UnsupportedOperationException.class, () -> map.descendingMap().clear());
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> map.headMap("c").entrySet().iterator().next().setValue(2)
+        );
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void liveMutatorsMarkTheMapModified() {
+        for (final Consumer<ConfigMap> mutator : ConfigMapTest.mutators()) {
+            final ConfigMap map = ConfigMapTest.sample();
+            final ConfigMap snapshot = map.snapshot();
+
+            mutator.accept(map);
+
+            assertTrue(map.isModified());
+            assertNotSame(snapshot, map.snapshot());
+        }
+    }
+
+    @Test
+    void unchangedWritesDoNotMarkTheMapModified() {
+        final ConfigMap map = ConfigMapTest.sample();
+
+        map.put("a", 1);
+        map.replaceAll((key, value) -> value);
+        map.putIfAbsent("a", 5);
+        map.entrySet().iterator().next().setValue(1);
+
+        assertFalse(map.isModified());
+    }
+
+    @Test
+    void nestedChangesMarkEverySectionAboveModified() {
+        final ConfigMap map = new ConfigMap();
+        map.putPath("a.b.c", 1);
+        map.putPath("d", 2);
+        map.clearModified();
+
+        assertFalse(map.isModified());
+
+        map.putPath("a.b.c", 5);
+
+        assertTrue(map.isModified());
+        assertTrue(((ConfigMap) map.get("a")).isModified());
+
+        map.clearModified();
+
+        assertFalse(map.isModified());
+        assertFalse(((ConfigMap) map.getPath("a.b")).isModified());
+    }
+
+    @Test
+    void snapshotsShareUnchangedSections() {
+        final ConfigMap map = new ConfigMap();
+        map.putPath("a.b", 1);
+        map.putPath("c.d", 2);
+
+        final ConfigMap first = map.snapshot();
+
+        assertTrue(first.isFrozen());
+        assertSame(first, map.snapshot());
+        assertSame(first, first.snapshot());
+
+        map.putPath("a.b", 3);
+
+        final ConfigMap second = map.snapshot();
+
+        assertNotSame(first, second);
+        assertNotSame(first.get("a"), second.get("a"));
+        assertSame(first.get("c"), second.get("c"));
+        assertEquals(1, first.getPath("a.b"));
+        assertEquals(3, second.getPath("a.b"));
+        assertThrows(UnsupportedOperationException.class, () -> ((ConfigMap) second.get("c")).put("d", 4));
+    }
+}
@@ -0,0 +1,125 @@
+package com.heretere.hch.core.backend.watch;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.gson.Gson;
+import com.heretere.hch.core.HCHConfig;
+import com.heretere.hch.core.MultiConfigHandler;
+import com.heretere.hch.core.backend.map.ConfigMap;
+import com.heretere.hch.core.backend.util.ConfigMapperUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListenerTrieTest {
+    @TempDir
+    Path directory;
+
+    private final Gson gson = new Gson();
+    private HCHConfig config;
+    private ListenerTrie trie;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        this.config = new HCHConfig(new MultiConfigHandler(this.directory), this.directory.resolve("test.yml"));
+        this.trie = new ListenerTrie();
+        this.fired = new ArrayList<>();
+    }
+
+    private void record(final String pattern) {
+        this.trie.subscribe(pattern, Object.class, event -> this.fired.add(pattern + " <- " + event.getKey()));
+    }
+
+    private void dispatch(final ConfigMap before, final ConfigMap after) {
+        this.trie.dispatch(this.gson, this.config, before, after, ConfigMapperUtils.diff(before, after));
+    }
+
+    private static ConfigMap tree(final String... pathsAndValues) {
+        final ConfigMap map = new ConfigMap();
+
+        for (int i = 0; i < pathsAndValues.length; i += 2) {
+            map.putPath(pathsAndValues[i], pathsAndValues[i + 1]);
+        }
+
+        return map;
+    }
+
+    @Test
+    void keySubscriptionsFireForChangesInTheirSubtree() {
+        this.record("shop");
+        this.record("shop.title");
+        this.record("other");
+
+        this.dispatch(
+            ListenerTrieTest.tree("shop.title", "One", "shop.price", "1"),
+            ListenerTrieTest.tree("shop.title", "Two", "shop.price", "1")
+        );
+
+        assertEquals(Arrays.asList("shop <- shop", "shop.title <- shop.title"), this.fired);
+    }
+
+    @Test
+    void wildcardSubscriptionsFireOncePerChangedChild() {
+        this.record("shop.*");
+
+        this.dispatch(
+            ListenerTrieTest.tree("shop.a", "1", "shop.b", "1", "shop.c", "1"),
+            ListenerTrieTest.tree("shop.a", "2", "shop.b", "1", "shop.c", "2")
+        );
+
+        assertEquals(Arrays.asList("shop.* <- shop.a", "shop.* <- shop.c"), this.fired);
+    }
+
+    @Test
+    void replacingASubtreeNotifiesSubscriptionsBelowIt() {
+        this.record("shop.title");
+        this.record("shop.items.*");
+
+        final ConfigMap after = new ConfigMap();
+        after.put("shop", "disabled");
+
+        this.dispatch(ListenerTrieTest.tree("shop.title", "One", "shop.items.axe", "1"), after);
+
+        assertEquals(Arrays.asList("shop.title <- shop.title", "shop.items.* <- shop.items.axe"), this.fired);
+    }
+
+    @Test
+    void unsubscribedListenersStopFiring() {
+        final Subscription<Object> subscription =
+            this.trie.subscribe("shop", Object.class, event -> this.fired.add("shop"));
+        subscription.unsubscribe();
+
+        this.dispatch(ListenerTrieTest.tree("shop.title", "One"), ListenerTrieTest.tree("shop.title", "Two"));
+
+        assertTrue(this.fired.isEmpty());
+        assertTrue(this.trie.isEmpty());
+    }
+
+    @Test
+    void failingListenerDoesNotStopTheOthers() {
+        this.trie.subscribe("shop", Object.class, event -> {
+            throw new IllegalStateException("broken listener");
+        });
+        this.record("shop.title");
+
+        this.dispatch(ListenerTrieTest.tree("shop.title", "One"), ListenerTrieTest.tree("shop.title", "Two"));
+
+        assertEquals(Collections.singletonList("shop.title <- shop.title"), this.fired);
+    }
+
+    @Test
+    void invalidPatternsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> this.record("shop.*.title"));
+        assertThrows(IllegalArgumentException.class, () -> this.record("shop..title"));
+    }
+}
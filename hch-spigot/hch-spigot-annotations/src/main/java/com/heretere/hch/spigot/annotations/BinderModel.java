@@ -0,0 +1,380 @@
+package com.heretere.hch.spigot.annotations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/* Generated binders touch fields directly, so bound fields have to be non-private, non-final and visible. */
+final class BinderModel {
+    private static final @NotNull String SERIALIZED_NAME = "com.google.gson.annotations.SerializedName";
+    private static final @NotNull String BINDER_SUFFIX = "_HCHBinder";
+
+    private static final @NotNull Map<@NotNull String, @NotNull String> BOXED_CONVERSIONS;
+
+    static {
+        final Map<String, String> conversions = new HashMap<>();
+
+        conversions.put("java.lang.Integer", "toInt");
+        conversions.put("java.lang.Long", "toLong");
+        conversions.put("java.lang.Short", "toShort");
+        conversions.put("java.lang.Byte", "toByte");
+        conversions.put("java.lang.Double", "toDouble");
+        conversions.put("java.lang.Float", "toFloat");
+        conversions.put("java.lang.Boolean", "toBoolean");
+        conversions.put("java.lang.Character", "toChar");
+        conversions.put("java.lang.String", "toString");
+
+        BOXED_CONVERSIONS = Collections.unmodifiableMap(conversions);
+    }
+
+    private final @NotNull String packageName;
+    private final @NotNull String typeName;
+    private final @NotNull String binderSimpleName;
+    private final @NotNull List<@NotNull BoundField> fields;
+    private final @Nullable String problem;
+
+    private BinderModel(
+            final @NotNull String packageName,
+            final @NotNull String typeName,
+            final @NotNull String binderSimpleName,
+            final @NotNull List<@NotNull BoundField> fields,
+            final @Nullable String problem
+    ) {
+        this.packageName = packageName;
+        this.typeName = typeName;
+        this.binderSimpleName = binderSimpleName;
+        this.fields = fields;
+        this.problem = problem;
+    }
+
+    static @NotNull BinderModel of(final @NotNull ProcessingEnvironment env, final @NotNull TypeElement type) {
+        final PackageElement pkg = env.getElementUtils().getPackageOf(type);
+        final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        final String binderSimpleName = type.getQualifiedName()
+                                            .toString()
+                                            .substring(packageName.isEmpty() ? 0 : packageName.length() + 1)
+                                            .replace('.', '_') + BinderModel.BINDER_SUFFIX;
+
+        final List<BoundField> fields = new ArrayList<>();
+        String problem = BinderModel.checkType(type, packageName);
+
+        if (problem == null) {
+            problem = BinderModel.collectFields(env, type, packageName, fields);
+        }
+
+        return new BinderModel(
+            packageName,
+            type.getQualifiedName().toString(),
+            binderSimpleName,
+            Collections.unmodifiableList(fields),
+            problem
+        );
+    }
+
+    private static @Nullable String checkType(final @NotNull TypeElement type, final @NotNull String packageName) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return "the class is abstract";
+        } else if (!type.getTypeParameters().isEmpty()) {
+            return "the class is generic";
+        } else if (type.getNestingKind() != NestingKind.TOP_LEVEL
+            && (type.getNestingKind() != NestingKind.MEMBER || !type.getModifiers().contains(Modifier.STATIC))) {
+            return "only top level and static nested classes are supported";
+        } else if (!BinderModel.isVisible(type, packageName)) {
+            return "the class isn't visible from its own package";
+        }
+
+        boolean hasConstructor = false;
+        boolean hasNoArgConstructor = false;
+
+        for (final Element element : type.getEnclosedElements()) {
+            if (element.getKind() != ElementKind.CONSTRUCTOR) {
+                continue;
+            }
+
+            hasConstructor = true;
+
+            if (((ExecutableElement) element).getParameters().isEmpty()
+                && !element.getModifiers().contains(Modifier.PRIVATE)) {
+                hasNoArgConstructor = true;
+            }
+        }
+
+        return !hasConstructor || hasNoArgConstructor ? null : "there is no non-private no-arg constructor";
+    }
+
+    /* Same order as Gson, so fields are written in the same order. */
+    private static @Nullable String collectFields(
+            final @NotNull ProcessingEnvironment env,
+            final @NotNull TypeElement type,
+            final @NotNull String packageName,
+            final @NotNull List<@NotNull BoundField> output
+    ) {
+        final Set<String> keys = new HashSet<>();
+        TypeElement current = type;
+
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            final boolean samePackage = env.getElementUtils()
+                                           .getPackageOf(current)
+                                           .getQualifiedName()
+                                           .contentEquals(packageName);
+
+            for (final Element element : current.getEnclosedElements()) {
+                if (element.getKind() != ElementKind.FIELD
+                    || element.getModifiers().contains(Modifier.STATIC)
+                    || element.getModifiers().contains(Modifier.TRANSIENT)) {
+                    continue;
+                }
+
+                final VariableElement field = (VariableElement) element;
+                final String name = field.getSimpleName().toString();
+
+                if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                    return String.format("field '%s' is private", name);
+                } else if (field.getModifiers().contains(Modifier.FINAL)) {
+                    return String.format("field '%s' is final", name);
+                } else if (!samePackage && !field.getModifiers().contains(Modifier.PUBLIC)) {
+                    return String.format("inherited field '%s' isn't visible from package '%s'", name, packageName);
+                } else if (!BinderModel.isVisible(field.asType(), packageName)) {
+                    return String.format("the type of field '%s' isn't visible from package '%s'", name, packageName);
+                } else if (field.asType().getKind() == TypeKind.TYPEVAR) {
+                    return String.format("field '%s' has a type variable as its type", name);
+                }
+
+                final String key = BinderModel.getKey(field);
+
+                if (!keys.add(key)) {
+                    return String.format("more than one field is bound to key '%s'", key);
+                }
+
+                output.add(BinderModel.createField(env, field, key));
+            }
+
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                ? (TypeElement) ((DeclaredType) superclass).asElement()
+                : null;
+        }
+
+        return null;
+    }
+
+    private static @NotNull BoundField createField(
+            final @NotNull ProcessingEnvironment env,
+            final @NotNull VariableElement field,
+            final @NotNull String key
+    ) {
+        final TypeMirror type = field.asType();
+        final String name = field.getSimpleName().toString();
+
+        if (type.getKind().isPrimitive()) {
+            final String boxed = env.getTypeUtils()
+                                    .boxedClass(env.getTypeUtils().getPrimitiveType(type.getKind()))
+                                    .getQualifiedName()
+                                    .toString();
+
+            return new BoundField(
+                name,
+                key,
+                BinderModel.BOXED_CONVERSIONS.get(boxed),
+                true,
+                type.getKind() == TypeKind.CHAR,
+                null
+            );
+        }
+
+        final TypeMirror erasure = env.getTypeUtils().erasure(type);
+        final String conversion = BinderModel.BOXED_CONVERSIONS.get(erasure.toString());
+
+        if (conversion != null) {
+            return new BoundField(name, key, conversion, false, "toChar".equals(conversion), null);
+        }
+
+        /* plain classes are named by their class literal, anything parameterized needs a TypeToken */
+        final boolean parameterized = !env.getTypeUtils().isSameType(type, erasure);
+
+        return new BoundField(
+            name,
+            key,
+            null,
+            false,
+            false,
+            parameterized
+                ? "new com.google.gson.reflect.TypeToken<" + type + ">() {}.getType()"
+                : erasure + ".class"
+        );
+    }
+
+    private static @NotNull String getKey(final @NotNull VariableElement field) {
+        for (final AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            if (!((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                                                                       .contentEquals(BinderModel.SERIALIZED_NAME)) {
+                continue;
+            }
+
+            for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : mirror.getElementValues().entrySet()) {
+                if (entry.getKey().getSimpleName().contentEquals("value")) {
+                    return entry.getValue().getValue().toString();
+                }
+            }
+        }
+
+        return field.getSimpleName().toString();
+    }
+
+    private static boolean isVisible(final @NotNull TypeMirror type, final @NotNull String packageName) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return BinderModel.isVisible(((ArrayType) type).getComponentType(), packageName);
+            case WILDCARD:
+                final WildcardType wildcard = (WildcardType) type;
+                final TypeMirror bound = wildcard.getExtendsBound() == null
+                    ? wildcard.getSuperBound()
+                    : wildcard.getExtendsBound();
+
+                return bound == null || BinderModel.isVisible(bound, packageName);
+            case DECLARED:
+                final DeclaredType declared = (DeclaredType) type;
+
+                if (!BinderModel.isVisible((TypeElement) declared.asElement(), packageName)) {
+                    return false;
+                }
+
+                for (final TypeMirror argument : declared.getTypeArguments()) {
+                    if (!BinderModel.isVisible(argument, packageName)) {
+                        return false;
+                    }
+                }
+
+                return true;
+            default:
+                return true;
+        }
+    }
+
+    private static boolean isVisible(final @NotNull TypeElement type, final @NotNull String packageName) {
+        Element current = type;
+
+        while (current instanceof TypeElement) {
+            final Set<Modifier> modifiers = current.getModifiers();
+
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            } else if (!modifiers.contains(Modifier.PUBLIC)) {
+                Element pkg = current;
+
+                while (!(pkg instanceof PackageElement)) {
+                    pkg = pkg.getEnclosingElement();
+                }
+
+                if (!((PackageElement) pkg).getQualifiedName().contentEquals(packageName)) {
+                    return false;
+                }
+            }
+
+            current = current.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    @NotNull String getPackageName() {
+        return this.packageName;
+    }
+
+    @NotNull String getTypeName() {
+        return this.typeName;
+    }
+
+    @NotNull String getBinderSimpleName() {
+        return this.binderSimpleName;
+    }
+
+    @NotNull String getBinderName() {
+        return this.packageName.isEmpty() ? this.binderSimpleName : this.packageName + "." + this.binderSimpleName;
+    }
+
+    @NotNull List<@NotNull BoundField> getFields() {
+        return this.fields;
+    }
+
+    @NotNull Optional<@NotNull String> getProblem() {
+        return Optional.ofNullable(this.problem);
+    }
+
+    static final class BoundField {
+        private final @NotNull String name;
+        private final @NotNull String key;
+        /* BinderSupport method converting a config value to this field, null when Gson handles the field */
+        private final @Nullable String conversion;
+        private final boolean primitive;
+        private final boolean character;
+        /* source expression for the java.lang.reflect.Type handed to Gson */
+        private final @Nullable String typeExpression;
+
+        private BoundField(
+                final @NotNull String name,
+                final @NotNull String key,
+                final @Nullable String conversion,
+                final boolean primitive,
+                final boolean character,
+                final @Nullable String typeExpression
+        ) {
+            this.name = name;
+            this.key = key;
+            this.conversion = conversion;
+            this.primitive = primitive;
+            this.character = character;
+            this.typeExpression = typeExpression;
+        }
+
+        @NotNull String getName() {
+            return this.name;
+        }
+
+        @NotNull String getKey() {
+            return this.key;
+        }
+
+        @NotNull Optional<@NotNull String> getConversion() {
+            return Optional.ofNullable(this.conversion);
+        }
+
+        boolean isPrimitive() {
+            return this.primitive;
+        }
+
+        boolean isCharacter() {
+            return this.character;
+        }
+
+        @NotNull Optional<@NotNull String> getTypeExpression() {
+            return Optional.ofNullable(this.typeExpression);
+        }
+    }
+}
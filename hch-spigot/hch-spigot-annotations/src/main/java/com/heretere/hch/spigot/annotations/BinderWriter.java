@@ -0,0 +1,155 @@
+package com.heretere.hch.spigot.annotations;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+final class BinderWriter {
+    private static final @NotNull String CONFIG_MAP = "com.heretere.hch.core.backend.map.ConfigMap";
+    private static final @NotNull String GSON = "com.google.gson.Gson";
+    private static final @NotNull String SUPPORT = "com.heretere.hch.core.backend.binder.BinderSupport";
+
+    private BinderWriter() {
+        throw new IllegalStateException("Utility Class.");
+    }
+
+    static @NotNull String write(final @NotNull BinderModel model) {
+        final StringBuilder output = new StringBuilder();
+        final String type = model.getTypeName();
+        final List<BinderModel.BoundField> fields = model.getFields();
+
+        if (!model.getPackageName().isEmpty()) {
+            output.append("package ").append(model.getPackageName()).append(";\n\n");
+        }
+
+        output.append("/* Generated by hch-spigot-annotations from ").append(type).append(", do not edit. */\n")
+              .append("public final class ")
+              .append(model.getBinderSimpleName())
+              .append(" implements com.heretere.hch.core.backend.binder.GeneratedBinder<")
+              .append(type)
+              .append("> {\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            if (fields.get(i).getTypeExpression().isPresent()) {
+                output.append("    private static final java.lang.reflect.Type TYPE_")
+                      .append(i)
+                      .append(" = ")
+                      .append(fields.get(i).getTypeExpression().get())
+                      .append(";\n");
+            }
+        }
+
+        output.append("\n    @java.lang.Override\n")
+              .append("    public java.lang.Class<").append(type).append("> getType() {\n")
+              .append("        return ").append(type).append(".class;\n")
+              .append("    }\n\n");
+
+        BinderWriter.writeRead(output, type, fields);
+        BinderWriter.writeWrite(output, type, fields);
+
+        return output.append("}\n").toString();
+    }
+
+    /* Keys missing from the section keep their default, like Gson leaves them alone. */
+    private static void writeRead(
+            final @NotNull StringBuilder output,
+            final @NotNull String type,
+            final @NotNull List<BinderModel.BoundField> fields
+    ) {
+        output.append("    @java.lang.Override\n")
+              .append("    public ").append(type).append(" read(\n")
+              .append("            final ").append(BinderWriter.CONFIG_MAP).append(" section,\n")
+              .append("            final ").append(BinderWriter.GSON).append(" gson\n")
+              .append("    ) {\n")
+              .append("        final ").append(type).append(" pojo = new ").append(type).append("();\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            final BinderModel.BoundField field = fields.get(i);
+            final String key = BinderWriter.quote(field.getKey());
+
+            output.append("\n        if (section.containsKey(").append(key).append(")) {\n")
+                  .append("            final java.lang.Object value = section.get(").append(key).append(");\n");
+
+            if (!field.getConversion().isPresent()) {
+                output.append("            pojo.").append(field.getName())
+                      .append(" = ").append(BinderWriter.SUPPORT).append(".read(gson, value, TYPE_").append(i)
+                      .append(");\n");
+            } else if (field.isPrimitive()) {
+                output.append("            if (value != null) {\n")
+                      .append("                pojo.").append(field.getName())
+                      .append(" = ").append(BinderWriter.SUPPORT).append('.').append(field.getConversion().get())
+                      .append("(value);\n")
+                      .append("            }\n");
+            } else {
+                output.append("            pojo.").append(field.getName())
+                      .append(" = value == null ? null : ")
+                      .append(BinderWriter.SUPPORT).append('.').append(field.getConversion().get())
+                      .append("(value);\n");
+            }
+
+            output.append("        }\n");
+        }
+
+        output.append("\n        return pojo;\n")
+              .append("    }\n\n");
+    }
+
+    /* Null fields are left out, Gson doesn't serialize nulls by default either. */
+    private static void writeWrite(
+            final @NotNull StringBuilder output,
+            final @NotNull String type,
+            final @NotNull List<BinderModel.BoundField> fields
+    ) {
+        output.append("    @java.lang.Override\n")
+              .append("    public ").append(BinderWriter.CONFIG_MAP).append(" write(\n")
+              .append("            final ").append(type).append(" pojo,\n")
+              .append("            final ").append(BinderWriter.GSON).append(" gson\n")
+              .append("    ) {\n")
+              .append("        final ").append(BinderWriter.CONFIG_MAP).append(" section = new ")
+              .append(BinderWriter.CONFIG_MAP).append("();\n");
+
+        for (int i = 0; i < fields.size(); i++) {
+            final BinderModel.BoundField field = fields.get(i);
+            final String key = BinderWriter.quote(field.getKey());
+            final String access = "pojo." + field.getName();
+            final String value;
+
+            if (!field.getConversion().isPresent()) {
+                value = BinderWriter.SUPPORT + ".write(gson, " + access + ", TYPE_" + i + ")";
+            } else if (field.isCharacter()) {
+                value = "java.lang.String.valueOf(" + access + ")";
+            } else {
+                value = access;
+            }
+
+            output.append('\n');
+
+            if (field.isPrimitive()) {
+                output.append("        section.put(").append(key).append(", ").append(value).append(");\n");
+            } else {
+                output.append("        if (").append(access).append(" != null) {\n")
+                      .append("            section.put(").append(key).append(", ").append(value).append(");\n")
+                      .append("        }\n");
+            }
+        }
+
+        output.append("\n        return section;\n")
+              .append("    }\n");
+    }
+
+    private static @NotNull String quote(final @NotNull String value) {
+        final StringBuilder output = new StringBuilder("\"");
+
+        for (final char character : value.toCharArray()) {
+            if (character == '"' || character == '\\') {
+                output.append('\\').append(character);
+            } else if (character < 0x20 || character > 0x7e) {
+                output.append(String.format("\\u%04x", (int) character));
+            } else {
+                output.append(character);
+            }
+        }
+
+        return output.append('"').toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.heretere.hch.spigot.annotations;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.heretere.hch.core.annotation.ConfigFile;
+import com.heretere.hch.core.annotation.POJOKey;
+import com.heretere.hch.core.backend.binder.GeneratedBinder;
+
+/* Classes the generated code can't reach without reflection are reported as a note and keep using Gson. */
+public final class POJOBinderProcessor extends AbstractProcessor {
+    private static final @NotNull String SERVICE_FILE = "META-INF/services/" + GeneratedBinder.class.getName();
+
+    private final @NotNull Set<@NotNull String> processed = new LinkedHashSet<>();
+    private final @NotNull Set<@NotNull String> binders = new TreeSet<>();
+
+    @Override
+    public @NotNull Set<@NotNull String> getSupportedAnnotationTypes() {
+        final Set<String> output = new LinkedHashSet<>();
+
+        output.add(ConfigFile.class.getCanonicalName());
+        output.add(POJOKey.class.getCanonicalName());
+
+        return output;
+    }
+
+    @Override
+    public @NotNull SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+            final @NotNull Set<? extends @NotNull TypeElement> annotations,
+            final @NotNull RoundEnvironment roundEnv
+    ) {
+        final Set<Element> elements = new LinkedHashSet<>();
+
+        elements.addAll(roundEnv.getElementsAnnotatedWith(ConfigFile.class));
+        elements.addAll(roundEnv.getElementsAnnotatedWith(POJOKey.class));
+
+        for (final Element element : elements) {
+            if (element.getKind() == ElementKind.CLASS) {
+                this.generate((TypeElement) element);
+            }
+        }
+
+        if (roundEnv.processingOver()) {
+            this.writeServiceFile();
+        }
+
+        /* other processors may still want to see these annotations */
+        return false;
+    }
+
+    private void generate(final @NotNull TypeElement type) {
+        if (!this.processed.add(type.getQualifiedName().toString())) {
+            return;
+        }
+
+        final BinderModel model = BinderModel.of(super.processingEnv, type);
+
+        if (model.getProblem().isPresent()) {
+            super.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.NOTE,
+                String.format(
+                    "No binder generated for '%s', it will be bound through reflection: %s",
+                    type.getQualifiedName(),
+                    model.getProblem().get()
+                ),
+                type
+            );
+            return;
+        }
+
+        try {
+            final JavaFileObject file = super.processingEnv.getFiler()
+                                                           .createSourceFile(model.getBinderName(), type);
+
+            try (Writer writer = file.openWriter()) {
+                writer.write(BinderWriter.write(model));
+            }
+
+            this.binders.add(model.getBinderName());
+        } catch (IOException e) {
+            super.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                String.format("Couldn't write binder '%s': %s", model.getBinderName(), e.getMessage()),
+                type
+            );
+        }
+    }
+
+    private void writeServiceFile() {
+        if (this.binders.isEmpty()) {
+            return;
+        }
+
+        try {
+            final FileObject file = super.processingEnv.getFiler().createResource(
+                StandardLocation.CLASS_OUTPUT,
+                "",
+                POJOBinderProcessor.SERVICE_FILE
+            );
+
+            try (Writer writer = file.openWriter()) {
+                for (final String binder : this.binders) {
+                    writer.write(binder);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            super.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                String.format("Couldn't write '%s': %s", POJOBinderProcessor.SERVICE_FILE, e.getMessage())
+            );
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.bukkit.persistence.PersistentDataContainer;
 import org.jetbrains.annotations.NotNull;
 
 import com.google.common.collect.Maps;
+import com.heretere.hch.core.backend.binder.SerializationContext;
 import com.heretere.hch.spigot.modern.serializers.ModernEnchantmentSerializer;
 import com.heretere.hch.spigot.modern.serializers.ModernItemStackSerializer;
 import com.heretere.hch.spigot.modern.serializers.ModernNamespacedKeySerializer;
@@ -33,4 +34,9 @@ public final class SpigotSerializers {
     public static @NotNull Map<@NotNull Class<?>, @NotNull Object> getDefaultSpigotSerializerAdapters() {
         return Collections.unmodifiableMap(SERIALIZER_ADAPTERS);
     }
+
+    /* Pass to MultiConfigHandler#setSerializationContext so every handler shares one Gson. */
+    public static @NotNull SerializationContext getDefaultSpigotSerializationContext() {
+        return SerializationContext.builder().registerTypeAdapters(SERIALIZER_ADAPTERS).build();
+    }
 }